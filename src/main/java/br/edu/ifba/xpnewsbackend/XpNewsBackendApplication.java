@@ -2,8 +2,10 @@ package br.edu.ifba.xpnewsbackend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class XpNewsBackendApplication {
 
     public static void main(String[] args) {
@@ -1,19 +1,137 @@
 package br.edu.ifba.xpnewsbackend.config;
 
+import br.edu.ifba.xpnewsbackend.infrastructure.clients.UserClient;
+import br.edu.ifba.xpnewsbackend.infrastructure.web.CorrelationIdFilter;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.time.Duration;
+
+/**
+ * Configuração do WebClient usado pelo UserClient.
+ * O pool de conexões é limitado, as esperas têm prazo e as falhas seguidas abrem um circuit breaker,
+ * para que um servidor lento não acumule requisições paradas nesta aplicação.
+ */
 @Configuration
 public class WebClientConfig {
 
+    public static final String USER_CLIENT = "user-client";
+
+    /**
+     * Pool de conexões do UserClient. Quando todas as conexões estão em uso, até pending-acquire-max-count
+     * requisições esperam por pending-acquire-timeout; as demais falham na hora.
+     * As métricas do pool (reactor.netty.connection.provider.*) mostram conexões ativas, ociosas e pendentes.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider userClientConnectionProvider(
+            @Value("${xp-news.user-client.pool.max-connections:50}") int maxConnections,
+            @Value("${xp-news.user-client.pool.pending-acquire-max-count:100}") int pendingAcquireMaxCount,
+            @Value("${xp-news.user-client.pool.pending-acquire-timeout:PT2S}") Duration pendingAcquireTimeout,
+            @Value("${xp-news.user-client.pool.max-idle-time:PT30S}") Duration maxIdleTime,
+            @Value("${xp-news.user-client.pool.max-life-time:PT5M}") Duration maxLifeTime) {
+        return ConnectionProvider.builder(USER_CLIENT)
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(maxIdleTime)
+                .metrics(true)
+                .build();
+    }
+
+    /**
+     * WebClient com o pool acima, prazo para abrir a conexão e para receber a resposta.
+     * Com http2 ativo, usa HTTP/2 quando o servidor aceita (ALPN em https, upgrade h2c em http)
+     * e continua em HTTP/1.1 quando não aceita.
+     * As respostas são pedidas no formato de accept (Smile por padrão, binário e sem o custo de interpretar texto; CBOR também é aceito);
+     * um servidor que só fale JSON continua atendido, pois o decodificador segue o Content-Type da resposta.
+     * O id de correlação da requisição de origem segue no cabeçalho X-Request-Id de cada chamada.
+     */
     @Bean
-    public WebClient webClient() {
+    public WebClient webClient(ConnectionProvider userClientConnectionProvider,
+                               @Value("${xp-news.user-client.base-url:http://localhost:8080/xp-news/users/}") String baseUrl,
+                               @Value("${xp-news.user-client.connect-timeout:PT1S}") Duration connectTimeout,
+                               @Value("${xp-news.user-client.response-timeout:PT3S}") Duration responseTimeout,
+                               @Value("${xp-news.user-client.http2:true}") boolean http2,
+                               @Value("${xp-news.user-client.accept:application/x-jackson-smile, application/json;q=0.9}") String accept) {
+        HttpClient httpClient = HttpClient.create(userClientConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(connectTimeout.toMillis()))
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(responseTimeout);
+        if (http2) {
+            httpClient = baseUrl.startsWith("https")
+                    ? httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11).secure()
+                    : httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
         return WebClient.builder()
-                .baseUrl("http://localhost:8080/xp-news/users/")
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                // O WebFlux já registra o decodificador Smile, mas não o CBOR
+                .codecs(codecs -> codecs.customCodecs().register(new Jackson2CborDecoder()))
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .defaultHeader(HttpHeaders.ACCEPT, accept)
+                .filter(WebClientConfig::propagateCorrelationId)
+                .build();
+    }
+
+    // O UserClient guarda o id de correlação no contexto do Reactor, já que a chamada não roda na thread da requisição
+    private static Mono<ClientResponse> propagateCorrelationId(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(context -> next.exchange(context.hasKey(CorrelationIdFilter.MDC_KEY)
+                ? ClientRequest.from(request).header(CorrelationIdFilter.HEADER, context.<String>get(CorrelationIdFilter.MDC_KEY)).build()
+                : request));
+    }
+
+    /**
+     * Circuit breaker do UserClient. Com a taxa de falhas (ou de chamadas lentas) acima do limite na janela,
+     * as chamadas são recusadas na hora durante wait-in-open; depois algumas chamadas de teste decidem se ele fecha.
+     * Contam como falha apenas respostas 5xx, erros de conexão e prazos esgotados; respostas 4xx são ignoradas.
+     * As métricas ficam em resilience4j.circuitbreaker.* com a tag name=user-client.
+     */
+    @Bean
+    public CircuitBreaker userClientCircuitBreaker(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${xp-news.user-client.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${xp-news.user-client.circuit-breaker.slow-call-duration:PT2S}") Duration slowCallDuration,
+            @Value("${xp-news.user-client.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${xp-news.user-client.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${xp-news.user-client.circuit-breaker.wait-in-open:PT10S}") Duration waitInOpen) {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .waitDurationInOpenState(waitInOpen)
+                .permittedNumberOfCallsInHalfOpenState(Math.max(1, minimumCalls / 2))
+                // Mesma classificação das novas tentativas do UserClient: 4xx não abre o circuito
+                .recordException(UserClient::isServerFailure)
+                .ignoreException(UserClient::isClientError)
                 .build();
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry)
+                .bindTo(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+        return registry.circuitBreaker(USER_CLIENT);
     }
-}
\ No newline at end of file
+}
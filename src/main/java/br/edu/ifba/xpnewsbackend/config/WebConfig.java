@@ -1,17 +1,46 @@
 package br.edu.ifba.xpnewsbackend.config;
 
+import br.edu.ifba.xpnewsbackend.infrastructure.json.ApiJsonModule;
+import br.edu.ifba.xpnewsbackend.infrastructure.web.MdcTaskDecorator;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.time.Duration;
+import java.util.List;
+
 @Configuration
 @EnableWebMvc
-public class WebConfig implements WebMvcConfigurer {
+public class WebConfig implements WebMvcConfigurer, DisposableBean {
     @Value("${cors.origin-patterns:default}")
     private String corsOriginPatterns = "";
 
+    // Respostas em fluxo (como a exportação de usuários) rodam de forma assíncrona e podem durar minutos
+    @Value("${xp-news.async.request-timeout:PT30M}")
+    private Duration asyncRequestTimeout = Duration.ofMinutes(30);
+
+    // Teto de respostas assíncronas simultâneas com threads de plataforma; cada exportação segura uma conexão do banco
+    @Value("${xp-news.async.pool-size:8}")
+    private int asyncPoolSize = 8;
+
+    @Value("${xp-news.async.queue-capacity:8}")
+    private int asyncQueueCapacity = 8;
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         var allowedOrigins = corsOriginPatterns.split(",");
@@ -20,4 +49,71 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedHeaders("*")
                 .allowedMethods("GET", "PUT", "POST", "PATCH", "DELETE", "OPTIONS");
     }
-}
\ No newline at end of file
+
+    // Executor do Boot, usado no modo com threads virtuais (spring.threads.virtual.enabled=true)
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    @Autowired
+    private Environment environment;
+
+    private ThreadPoolTaskExecutor asyncRequestExecutor;
+
+    /**
+     * Com threads virtuais as respostas assíncronas usam o executor do Boot e o teto fica com o ConcurrencyLimitFilter.
+     * Com threads de plataforma usam um pool próprio e limitado: o executor do Boot tem fila sem limite, e as
+     * respostas que passassem do seu tamanho ficariam esperando até o prazo assíncrono, cada uma segurando uma
+     * vaga do ConcurrencyLimitFilter. Com o pool e a fila cheios a requisição recebe 503 na hora.
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(asyncRequestTimeout.toMillis());
+        if (Threading.VIRTUAL.isActive(environment)) {
+            configurer.setTaskExecutor(applicationTaskExecutor);
+            return;
+        }
+        if (asyncRequestExecutor == null) {
+            asyncRequestExecutor = asyncRequestExecutor(asyncPoolSize, asyncQueueCapacity, new MdcTaskDecorator());
+        }
+        configurer.setTaskExecutor(asyncRequestExecutor);
+    }
+
+    /**
+     * Pool de tamanho fixo e fila limitada; acima disso a submissão falha com TaskRejectedException.
+     * Não é registrado como bean: um Executor no contexto faria o Boot deixar de criar o applicationTaskExecutor.
+     */
+    static ThreadPoolTaskExecutor asyncRequestExecutor(int poolSize, int queueCapacity, TaskDecorator taskDecorator) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("mvc-async-");
+        executor.setTaskDecorator(taskDecorator);
+        executor.initialize();
+        return executor;
+    }
+
+    @Override
+    public void destroy() {
+        if (asyncRequestExecutor != null) {
+            asyncRequestExecutor.shutdown();
+        }
+    }
+
+    // Registrado como bean, o módulo também entra no ObjectMapper do Boot (usado fora do MVC, como nos filtros)
+    @Bean
+    public ApiJsonModule apiJsonModule() {
+        return new ApiJsonModule();
+    }
+
+    // Com @EnableWebMvc os conversores Jackson do MVC (JSON, Smile e CBOR) têm ObjectMappers próprios; os serializadores são registrados neles
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        for (HttpMessageConverter<?> converter : converters) {
+            if (converter instanceof AbstractJackson2HttpMessageConverter jackson) {
+                jackson.getObjectMapper().registerModule(apiJsonModule());
+            }
+        }
+    }
+}
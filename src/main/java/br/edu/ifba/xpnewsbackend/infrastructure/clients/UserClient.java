@@ -1,35 +1,227 @@
 package br.edu.ifba.xpnewsbackend.infrastructure.clients;
 
 import br.edu.ifba.xpnewsbackend.infrastructure.dto.PageableDto;
-import lombok.RequiredArgsConstructor;
+import br.edu.ifba.xpnewsbackend.infrastructure.exception.UserClientUnavailableException;
+import br.edu.ifba.xpnewsbackend.infrastructure.web.CorrelationIdFilter;
+import br.edu.ifba.xpnewsbackend.user.repository.UserSummary;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.netty.handler.timeout.ReadTimeoutException;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+import reactor.util.retry.Retry;
 
-@RequiredArgsConstructor
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Cliente HTTP da listagem de usuários. Todas as operações são assíncronas: nenhuma thread fica bloqueada
+ * esperando a resposta, e várias páginas podem ser buscadas ao mesmo tempo.
+ * Cada tentativa tem prazo; falhas transitórias são repetidas com backoff exponencial e jitter, e o
+ * circuit breaker recusa as chamadas na hora enquanto o servidor estiver falhando.
+ * As chamadas não rodam na thread da requisição: o id de correlação do MDC de quem chama é guardado no contexto
+ * do Reactor, enviado ao servidor e restaurado no MDC durante os logs do cliente.
+ */
 @Slf4j
 @Component
 public class UserClient {
 
+    private static final ParameterizedTypeReference<PageableDto<UserSummary>> PAGE_TYPE = new ParameterizedTypeReference<>() {};
+
     private final WebClient webClient;
+    private final CircuitBreaker circuitBreaker;
+    private final int maxConcurrency;
+    private final Duration callTimeout;
+    private final Retry retry;
+
+    public UserClient(WebClient webClient,
+                      CircuitBreaker userClientCircuitBreaker,
+                      @Value("${xp-news.user-client.max-concurrency:4}") int maxConcurrency,
+                      @Value("${xp-news.user-client.call-timeout:PT3S}") Duration callTimeout,
+                      @Value("${xp-news.user-client.retry.max-retries:2}") int maxRetries,
+                      @Value("${xp-news.user-client.retry.min-backoff:PT0.1S}") Duration minBackoff,
+                      @Value("${xp-news.user-client.retry.max-backoff:PT1S}") Duration maxBackoff) {
+        this.webClient = webClient;
+        this.circuitBreaker = userClientCircuitBreaker;
+        this.maxConcurrency = maxConcurrency;
+        this.callTimeout = callTimeout;
+        this.retry = Retry.backoff(maxRetries, minBackoff)
+                .maxBackoff(maxBackoff)
+                .jitter(0.5)
+                .filter(UserClient::isTransient)
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    /**
+     * Busca uma página de usuários no endpoint "/find-all".
+     * Falhas que persistem após as novas tentativas, ou o circuit breaker aberto, resultam em
+     * UserClientUnavailableException.
+     *
+     * @param page Número da página (começando em 0).
+     * @param size Quantidade de usuários por página.
+     * @return Mono com a página de usuários.
+     */
+    public Mono<PageableDto<UserSummary>> findPage(int page, int size) {
+        return Mono.deferContextual(context -> {
+                    withCorrelationId(context, () -> log.debug("Buscando a página {} de usuários", page));
+                    return webClient.get()
+                            .uri(uri -> uri.path("find-all").queryParam("page", page).queryParam("size", size).build())
+                            .retrieve()
+                            .bodyToMono(PAGE_TYPE);
+                })
+                .timeout(callTimeout)
+                .doOnEach(signal -> {
+                    if (signal.isOnError()) {
+                        withCorrelationId(signal.getContextView(), () -> log.debug("Falha na busca da página {} de usuários: {}",
+                                page, signal.getThrowable().toString()));
+                    }
+                })
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .retryWhen(retry)
+                .onErrorMap(UserClient::isUnavailable,
+                        ex -> new UserClientUnavailableException("Serviço de usuários indisponível", ex))
+                .contextWrite(UserClient::captureCorrelationId);
+    }
 
     /**
-     * Método para buscar todos os usuários, realizando uma requisição GET ao endpoint "/find-all".
+     * Busca as primeiras páginas de usuários em paralelo, com no máximo xp-news.user-client.max-concurrency
+     * requisições simultâneas, e as junta em uma única página, na ordem original.
+     * O tempo total fica próximo ao da página mais lenta de cada rodada, e não à soma de todas.
+     * Com o circuit breaker aberto, as páginas recusadas são omitidas e a página resultante (parcial ou vazia)
+     * vem marcada como degraded; as demais falhas continuam resultando em UserClientUnavailableException.
      *
-     * @return PageableDto com os dados dos usuários e informações de paginação.
+     * @param pages Quantidade de páginas a buscar.
+     * @param size Quantidade de usuários por página.
+     * @return Mono com uma página contendo os usuários de todas as páginas buscadas.
+     */
+    public Mono<PageableDto<UserSummary>> findAll(int pages, int size) {
+        return Flux.range(0, pages)
+                .flatMapSequential(page -> findPage(page, size)
+                        .map(Optional::of)
+                        .onErrorResume(UserClient::isCircuitOpen, ex -> skipped(page)), maxConcurrency)
+                .collectList()
+                .map(results -> merge(results, size))
+                .contextWrite(UserClient::captureCorrelationId);
+    }
+
+    // Lido na inscrição, que acontece na thread de quem chama; as páginas buscadas por findAll herdam o id do contexto externo
+    private static Context captureCorrelationId(Context context) {
+        String correlationId = MDC.get(CorrelationIdFilter.MDC_KEY);
+        return correlationId != null && !context.hasKey(CorrelationIdFilter.MDC_KEY)
+                ? context.put(CorrelationIdFilter.MDC_KEY, correlationId)
+                : context;
+    }
+
+    // Os sinais podem chegar na própria thread da requisição: o valor anterior do MDC é restaurado, e não apenas removido
+    private static void withCorrelationId(ContextView context, Runnable logging) {
+        if (!context.hasKey(CorrelationIdFilter.MDC_KEY)) {
+            logging.run();
+            return;
+        }
+        String previous = MDC.get(CorrelationIdFilter.MDC_KEY);
+        MDC.put(CorrelationIdFilter.MDC_KEY, context.get(CorrelationIdFilter.MDC_KEY));
+        try {
+            logging.run();
+        } finally {
+            if (previous != null) {
+                MDC.put(CorrelationIdFilter.MDC_KEY, previous);
+            } else {
+                MDC.remove(CorrelationIdFilter.MDC_KEY);
+            }
+        }
+    }
+
+    /**
+     * Indica se a falha aponta um problema no servidor ou no caminho até ele: respostas 5xx, erros de conexão e
+     * prazos esgotados. Só essas contam para o circuit breaker e podem ser repetidas; respostas 4xx são o
+     * resultado normal de uma consulta (um id inexistente, um parâmetro inválido) e não indicam servidor com problema.
+     */
+    public static boolean isServerFailure(Throwable ex) {
+        if (ex instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError();
+        }
+        return ex instanceof WebClientRequestException || ex instanceof IOException || ex instanceof TimeoutException;
+    }
+
+    /**
+     * Indica se a falha é uma resposta 4xx; ignorada pelo circuit breaker, que não a conta nem como sucesso nem como falha.
      */
-    public PageableDto findAll() {
-        log.info("Iniciando requisição para buscar todos os usuários.");
+    public static boolean isClientError(Throwable ex) {
+        return ex instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError();
+    }
+
+    // Entre as falhas do servidor, erros de rede, prazo esgotado e 502/503/504 costumam passar;
+    // pool esgotado e circuito aberto não são repetidos
+    private static boolean isTransient(Throwable ex) {
+        if (!isServerFailure(ex)) {
+            return false;
+        }
+        if (ex instanceof WebClientResponseException response) {
+            int status = response.getStatusCode().value();
+            return status == 502 || status == 503 || status == 504;
+        }
+        if (ex instanceof WebClientRequestException request) {
+            // Falhas de conexão são IOException; as do pool (espera esgotada, fila cheia) não
+            return request.getCause() instanceof IOException || request.getCause() instanceof ReadTimeoutException;
+        }
+        return true;
+    }
 
-        // Realiza a chamada GET ao endpoint "/find-all" e espera a resposta
-        PageableDto response = webClient.get()
-                .uri("/find-all")
-                .retrieve()  // Realiza a requisição e prepara a resposta
-                .bodyToMono(PageableDto.class)  // Converte o corpo da resposta para o tipo PageableDto
-                .block();  // Bloqueia até que a resposta seja recebida
+    private static boolean isCircuitOpen(Throwable ex) {
+        return ex instanceof UserClientUnavailableException && ex.getCause() instanceof CallNotPermittedException;
+    }
 
-        log.info("Requisição para buscar todos os usuários concluída.");
+    private static Mono<Optional<PageableDto<UserSummary>>> skipped(int page) {
+        return Mono.deferContextual(context -> {
+            withCorrelationId(context, () -> log.debug("Circuito aberto: página {} de usuários omitida da resposta", page));
+            return Mono.just(Optional.empty());
+        });
+    }
+
+    private static boolean isUnavailable(Throwable ex) {
+        return ex instanceof CallNotPermittedException || isServerFailure(ex);
+    }
 
-        return response;
+    private static PageableDto<UserSummary> merge(List<Optional<PageableDto<UserSummary>>> pages, int size) {
+        List<UserSummary> content = new ArrayList<>();
+        PageableDto<UserSummary> lastFetched = null;
+        boolean degraded = false;
+        for (Optional<PageableDto<UserSummary>> page : pages) {
+            if (page.isEmpty()) {
+                degraded = true;
+                continue;
+            }
+            content.addAll(page.get().getContent());
+            lastFetched = page.get();
+        }
+        PageableDto<UserSummary> merged = new PageableDto<>();
+        merged.setContent(content);
+        merged.setFirst(true);
+        // Com páginas omitidas não se sabe se há mais usuários depois das buscadas
+        merged.setLast(!degraded && (lastFetched == null || lastFetched.isLast()));
+        merged.setDegraded(degraded);
+        merged.setNumber(0);
+        merged.setSize(size * pages.size());
+        merged.setNumberOfElements(content.size());
+        if (lastFetched != null && lastFetched.getTotalElements() != null) {
+            merged.setTotalElements(lastFetched.getTotalElements());
+            merged.setTotalPages(merged.getSize() == 0 ? 0 : (lastFetched.getTotalElements() + merged.getSize() - 1) / merged.getSize());
+        }
+        return merged;
     }
 }
@@ -0,0 +1,13 @@
+package br.edu.ifba.xpnewsbackend.infrastructure.dto;
+
+/**
+ * Define como os totais de uma listagem paginada são obtidos.
+ */
+public enum CountMode {
+    /** Executa o count(*) a cada página. */
+    EXACT,
+    /** Usa o total mantido em memória, atualizado periodicamente e a cada criação/exclusão. */
+    CACHED,
+    /** Não calcula totais: a resposta informa apenas se existe próxima página. */
+    NONE
+}
@@ -0,0 +1,20 @@
+package br.edu.ifba.xpnewsbackend.infrastructure.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDto<T> {
+    private List<T> content = new ArrayList<>();
+    private int size;
+    // Cursor opaco para a próxima página; nulo quando não há mais registros
+    private String next;
+}
@@ -0,0 +1,20 @@
+package br.edu.ifba.xpnewsbackend.infrastructure.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.MediaType;
+
+/**
+ * Formatos de arquivo suportados na exportação e importação de registros em fluxo.
+ */
+@Getter
+@AllArgsConstructor
+public enum ExportFormat {
+    /** Um objeto JSON por linha. */
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+    /** Valores separados por vírgula, com linha de cabeçalho. */
+    CSV(new MediaType("text", "csv"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+}
@@ -1,5 +1,6 @@
 package br.edu.ifba.xpnewsbackend.infrastructure.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import lombok.Setter;
@@ -9,8 +10,8 @@ import java.util.List;
 
 @Getter
 @Setter
-public class PageableDto {
-    private List content = new ArrayList<>();
+public class PageableDto<T> {
+    private List<T> content = new ArrayList<>();
     private boolean first;
     private boolean last;
     @JsonProperty("page")
@@ -18,6 +19,12 @@ public class PageableDto {
     private int size;
     @JsonProperty("pageElements")
     private int numberOfElements;
-    private int totalPages;
-    private int totalElements;
-}
\ No newline at end of file
+    // Ausentes quando a página vem de um Slice, que não conhece o total
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer totalPages;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer totalElements;
+    // Presente (true) apenas quando parte das páginas não pôde ser buscada e o conteúdo está incompleto
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean degraded;
+}
@@ -10,8 +10,11 @@ import lombok.Data;
 @MappedSuperclass
 public class PersistenceEntity {
 
+    // Sequência com otimizador pooled (blocos de 50 ids): permite ao Hibernate agrupar os INSERTs em lotes JDBC,
+    // o que não é possível com IDENTITY. Sem gerador nomeado, cada entidade usa a própria sequência <tabela>_seq
+    // com incremento 50, que deve ser criada pelas migrações
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
 }
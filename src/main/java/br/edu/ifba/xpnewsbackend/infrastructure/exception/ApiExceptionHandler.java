@@ -1,10 +1,18 @@
 package br.edu.ifba.xpnewsbackend.infrastructure.exception;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -12,22 +20,57 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.time.Instant;
 
+/**
+ * Converte as exceções da aplicação em respostas de erro.
+ * Erros esperados (recurso inexistente, conflito, entrada inválida) são logados sem stack trace e com
+ * limite de linhas por segundo para cada tipo; todas as ocorrências são contadas na métrica api.errors.
+ * Apenas falhas inesperadas são logadas com o stack trace completo.
+ */
 @Slf4j
 @RestControllerAdvice
 public class ApiExceptionHandler {
 
+    private final MeterRegistry registry;
+    private final ErrorLogLimiter limiter;
+
+    // Em testes de fatia web não há MeterRegistry no contexto; nesse caso as contagens vão para o registro global
+    public ApiExceptionHandler(ObjectProvider<MeterRegistry> registry,
+                               @Value("${xp-news.errors.log-rate:10}") int logRate) {
+        this.registry = registry.getIfAvailable(() -> Metrics.globalRegistry);
+        this.limiter = new ErrorLogLimiter(logRate);
+    }
+
     @ExceptionHandler(UniqueViolationException.class)
     public ResponseEntity<ErrorMessage> uniqueViolationException(RuntimeException ex, HttpServletRequest request) {
-        log.error("Api Error - ", ex);
+        logExpected(ex, HttpStatus.CONFLICT, request);
         return ResponseEntity
                 .status(HttpStatus.CONFLICT)
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(new ErrorMessage(request, HttpStatus.CONFLICT, Instant.now(),ex.getMessage()));
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorMessage> preconditionFailedException(RuntimeException ex, HttpServletRequest request) {
+        logExpected(ex, HttpStatus.PRECONDITION_FAILED, request);
+        return ResponseEntity
+                .status(HttpStatus.PRECONDITION_FAILED)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorMessage(request, HttpStatus.PRECONDITION_FAILED, Instant.now(), ex.getMessage()));
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorMessage> optimisticLockingFailureException(RuntimeException ex, HttpServletRequest request) {
+        logExpected(ex, HttpStatus.CONFLICT, request);
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorMessage(request, HttpStatus.CONFLICT, Instant.now(),
+                        "O registro foi alterado por outra requisição; recarregue-o e tente novamente"));
+    }
+
     @ExceptionHandler(DatabaseException.class)
     public ResponseEntity<ErrorMessage> handleDatabaseException(DatabaseException ex, HttpServletRequest request) {
-        log.error("Api Error - ", ex);
+        logUnexpected(ex, HttpStatus.BAD_REQUEST);
         return ResponseEntity
                 .status(HttpStatus.BAD_REQUEST)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -36,7 +79,76 @@ public class ApiExceptionHandler {
 
     @ExceptionHandler(PasswordInvalidException.class)
     public ResponseEntity<ErrorMessage> passwordInvalidException(RuntimeException ex, HttpServletRequest request) {
-        log.error("Api Error - ", ex);
+        logExpected(ex, HttpStatus.BAD_REQUEST, request);
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorMessage(request, HttpStatus.BAD_REQUEST, Instant.now(), ex.getMessage()));
+    }
+
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ResponseEntity<ErrorMessage> passwordHashingUnavailableException(RuntimeException ex, HttpServletRequest request) {
+        logExpected(ex, HttpStatus.SERVICE_UNAVAILABLE, request);
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorMessage(request, HttpStatus.SERVICE_UNAVAILABLE, Instant.now(), ex.getMessage()));
+    }
+
+    // Pool das respostas assíncronas cheio (ver WebConfig.configureAsyncSupport)
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ErrorMessage> taskRejectedException(RuntimeException ex, HttpServletRequest request) {
+        logExpected(ex, HttpStatus.SERVICE_UNAVAILABLE, request);
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorMessage(request, HttpStatus.SERVICE_UNAVAILABLE, Instant.now(),
+                        "Servidor sobrecarregado, tente novamente em instantes"));
+    }
+
+    // Sem conexão livre no pool do banco dentro do connection-timeout (CannotGetJdbcConnectionException é uma
+    // DataAccessResourceFailureException); com threads virtuais é o que acontece quando há mais requisições
+    // consultando o banco do que conexões
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<ErrorMessage> connectionUnavailableException(RuntimeException ex, HttpServletRequest request) {
+        logExpected(ex, HttpStatus.SERVICE_UNAVAILABLE, request);
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorMessage(request, HttpStatus.SERVICE_UNAVAILABLE, Instant.now(),
+                        "Servidor sobrecarregado, tente novamente em instantes"));
+    }
+
+    @ExceptionHandler(UserClientUnavailableException.class)
+    public ResponseEntity<ErrorMessage> userClientUnavailableException(RuntimeException ex, HttpServletRequest request) {
+        logExpected(ex, HttpStatus.SERVICE_UNAVAILABLE, request);
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorMessage(request, HttpStatus.SERVICE_UNAVAILABLE, Instant.now(), ex.getMessage()));
+    }
+
+    @ExceptionHandler(InvalidImportFileException.class)
+    public ResponseEntity<ErrorMessage> invalidImportFileException(RuntimeException ex, HttpServletRequest request) {
+        logExpected(ex, HttpStatus.BAD_REQUEST, request);
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorMessage(request, HttpStatus.BAD_REQUEST, Instant.now(), ex.getMessage()));
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorMessage> invalidCursorException(RuntimeException ex, HttpServletRequest request) {
+        logExpected(ex, HttpStatus.BAD_REQUEST, request);
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorMessage(request, HttpStatus.BAD_REQUEST, Instant.now(), ex.getMessage()));
+    }
+
+    @ExceptionHandler(BatchLimitExceededException.class)
+    public ResponseEntity<ErrorMessage> batchLimitExceededException(RuntimeException ex, HttpServletRequest request) {
+        logExpected(ex, HttpStatus.BAD_REQUEST, request);
         return ResponseEntity
                 .status(HttpStatus.BAD_REQUEST)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -45,7 +157,7 @@ public class ApiExceptionHandler {
 
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ErrorMessage> resourceNotFoundException(RuntimeException ex, HttpServletRequest request) {
-        log.error("Api Error - ", ex);
+        logExpected(ex, HttpStatus.NOT_FOUND, request);
         return ResponseEntity
                 .status(HttpStatus.NOT_FOUND)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -56,11 +168,31 @@ public class ApiExceptionHandler {
     public ResponseEntity<ErrorMessage> methodArgumentNotValidException(MethodArgumentNotValidException ex,
                                                                         HttpServletRequest request,
                                                                         BindingResult result) {
-        log.error("Api Error - ", ex);
+        logExpected(ex, HttpStatus.UNPROCESSABLE_ENTITY, request);
         return ResponseEntity
                 .status(HttpStatus.UNPROCESSABLE_ENTITY)
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(new ErrorMessage(request, HttpStatus.UNPROCESSABLE_ENTITY, Instant.now(), "Invalid field(s)", result));
     }
 
-}
\ No newline at end of file
+    private void logExpected(Exception ex, HttpStatus status, HttpServletRequest request) {
+        count(ex, status);
+        long suppressed = limiter.acquire(ex.getClass());
+        if (suppressed > 0) {
+            log.warn("Api Error - {} {} {}: {} ({} ocorrências omitidas desde a linha anterior)", status.value(),
+                    request.getMethod(), request.getRequestURI(), ex.getMessage(), suppressed);
+        } else if (suppressed == 0) {
+            log.warn("Api Error - {} {} {}: {}", status.value(), request.getMethod(), request.getRequestURI(), ex.getMessage());
+        }
+    }
+
+    private void logUnexpected(Exception ex, HttpStatus status) {
+        count(ex, status);
+        log.error("Api Error - ", ex);
+    }
+
+    private void count(Exception ex, HttpStatus status) {
+        registry.counter("api.errors", "exception", ex.getClass().getSimpleName(), "status", String.valueOf(status.value()))
+                .increment();
+    }
+}
@@ -0,0 +1,7 @@
+package br.edu.ifba.xpnewsbackend.infrastructure.exception;
+
+public class BatchLimitExceededException extends RuntimeException{
+    public BatchLimitExceededException(String message) {
+        super(message, null, false, false);
+    }
+}
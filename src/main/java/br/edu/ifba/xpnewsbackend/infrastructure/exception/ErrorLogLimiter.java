@@ -0,0 +1,68 @@
+package br.edu.ifba.xpnewsbackend.infrastructure.exception;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Limita quantas linhas de log cada tipo de erro pode gerar por segundo.
+ * As ocorrências descartadas são contadas e informadas na primeira linha liberada da janela seguinte.
+ */
+class ErrorLogLimiter {
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int permitsPerSecond;
+    private final LongSupplier clock;
+    private final ConcurrentMap<Class<?>, Window> windows = new ConcurrentHashMap<>();
+
+    ErrorLogLimiter(int permitsPerSecond) {
+        this(permitsPerSecond, System::nanoTime);
+    }
+
+    ErrorLogLimiter(int permitsPerSecond, LongSupplier clock) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.clock = clock;
+    }
+
+    /**
+     * Registra uma ocorrência do tipo de erro.
+     * @param type Tipo de erro.
+     * @return -1 se a ocorrência não deve ser logada; caso contrário, quantas ocorrências anteriores foram omitidas.
+     */
+    long acquire(Class<?> type) {
+        Window window = windows.computeIfAbsent(type, key -> new Window(clock.getAsLong()));
+        long now = clock.getAsLong();
+        window.lock.lock();
+        try {
+            if (now - window.start >= WINDOW_NANOS) {
+                window.start = now;
+                window.used = 0;
+            }
+            if (window.used >= permitsPerSecond) {
+                window.suppressed++;
+                return -1;
+            }
+            window.used++;
+            long suppressed = window.suppressed;
+            window.suppressed = 0;
+            return suppressed;
+        } finally {
+            window.lock.unlock();
+        }
+    }
+
+    // ReentrantLock em vez de synchronized: no JDK 21 um synchronized prende a thread virtual à thread de plataforma
+    private static final class Window {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long start;
+        private int used;
+        private long suppressed;
+
+        private Window(long start) {
+            this.start = start;
+        }
+    }
+}
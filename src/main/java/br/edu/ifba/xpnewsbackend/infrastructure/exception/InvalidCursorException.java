@@ -0,0 +1,7 @@
+package br.edu.ifba.xpnewsbackend.infrastructure.exception;
+
+public class InvalidCursorException extends RuntimeException{
+    public InvalidCursorException(String message) {
+        super(message, null, false, false);
+    }
+}
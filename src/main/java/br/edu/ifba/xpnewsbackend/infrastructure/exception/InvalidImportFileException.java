@@ -0,0 +1,7 @@
+package br.edu.ifba.xpnewsbackend.infrastructure.exception;
+
+public class InvalidImportFileException extends RuntimeException{
+    public InvalidImportFileException(String message) {
+        super(message, null, false, false);
+    }
+}
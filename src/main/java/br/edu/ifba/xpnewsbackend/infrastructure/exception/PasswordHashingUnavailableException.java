@@ -0,0 +1,11 @@
+package br.edu.ifba.xpnewsbackend.infrastructure.exception;
+
+/**
+ * Pool de hash de senhas saturado ou hash fora do prazo, respondido com 503. É o descarte de carga previsto
+ * sob sobrecarga, por isso a exceção não captura stack trace nem exceções suprimidas.
+ */
+public class PasswordHashingUnavailableException extends RuntimeException{
+    public PasswordHashingUnavailableException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -2,6 +2,6 @@ package br.edu.ifba.xpnewsbackend.infrastructure.exception;
 
 public class PasswordInvalidException extends RuntimeException{
     public PasswordInvalidException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
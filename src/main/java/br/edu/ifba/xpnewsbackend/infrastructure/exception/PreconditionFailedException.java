@@ -0,0 +1,7 @@
+package br.edu.ifba.xpnewsbackend.infrastructure.exception;
+
+public class PreconditionFailedException extends RuntimeException{
+    public PreconditionFailedException(String message) {
+        super(message, null, false, false);
+    }
+}
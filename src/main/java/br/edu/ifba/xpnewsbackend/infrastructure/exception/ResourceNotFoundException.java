@@ -1,7 +1,11 @@
 package br.edu.ifba.xpnewsbackend.infrastructure.exception;
 
+/**
+ * Recurso inexistente, respondido com 404. É um resultado esperado (inclusive em sondagens de usernames),
+ * por isso a exceção não captura stack trace nem exceções suprimidas.
+ */
 public class ResourceNotFoundException extends RuntimeException{
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -2,6 +2,6 @@ package br.edu.ifba.xpnewsbackend.infrastructure.exception;
 
 public class UniqueViolationException extends RuntimeException{
     public UniqueViolationException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
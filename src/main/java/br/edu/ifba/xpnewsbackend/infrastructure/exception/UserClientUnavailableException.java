@@ -0,0 +1,7 @@
+package br.edu.ifba.xpnewsbackend.infrastructure.exception;
+
+public class UserClientUnavailableException extends RuntimeException{
+    public UserClientUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,24 @@
+package br.edu.ifba.xpnewsbackend.infrastructure.json;
+
+import br.edu.ifba.xpnewsbackend.infrastructure.dto.PageableDto;
+import br.edu.ifba.xpnewsbackend.infrastructure.exception.ErrorMessage;
+import br.edu.ifba.xpnewsbackend.user.dto.UserResponseDto;
+import br.edu.ifba.xpnewsbackend.user.repository.UserSummary;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+/**
+ * Serializadores escritos à mão para as respostas mais frequentes da API.
+ * O JSON gerado é idêntico, byte a byte, ao da introspecção padrão do Jackson; a diferença é que não há
+ * descoberta de propriedades, acesso por reflexão nem codificação dos nomes de campo a cada resposta.
+ * Ao alterar um desses tipos, altere também o serializador correspondente.
+ */
+public class ApiJsonModule extends SimpleModule {
+
+    public ApiJsonModule() {
+        super(ApiJsonModule.class.getSimpleName());
+        addSerializer(UserResponseDto.class, new UserResponseDtoSerializer());
+        addSerializer(UserSummary.class, new UserProjectionSerializer());
+        addSerializer(PageableDto.class, new PageableDtoSerializer());
+        addSerializer(ErrorMessage.class, new ErrorMessageSerializer());
+    }
+}
@@ -0,0 +1,37 @@
+package br.edu.ifba.xpnewsbackend.infrastructure.json;
+
+import br.edu.ifba.xpnewsbackend.infrastructure.exception.ErrorMessage;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Serializa o ErrorMessage campo a campo. A data e o mapa de erros continuam com os serializadores
+ * configurados no ObjectMapper, para manter o mesmo formato de data da introspecção padrão.
+ */
+public class ErrorMessageSerializer extends StdSerializer<ErrorMessage> {
+
+    public ErrorMessageSerializer() {
+        super(ErrorMessage.class);
+    }
+
+    @Override
+    public void serialize(ErrorMessage error, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(error);
+        JsonFields.writeString(gen, JsonFields.PATH, error.getPath());
+        JsonFields.writeString(gen, JsonFields.METHOD, error.getMethod());
+        gen.writeFieldName(JsonFields.STATUS);
+        gen.writeNumber(error.getStatus());
+        JsonFields.writeString(gen, JsonFields.STATUS_TEXT, error.getStatusText());
+        gen.writeFieldName(JsonFields.TIMESTAMP);
+        provider.defaultSerializeValue(error.getTimestamp(), gen);
+        JsonFields.writeString(gen, JsonFields.MESSAGE, error.getMessage());
+        if (error.getErrors() != null) {
+            gen.writeFieldName(JsonFields.ERRORS);
+            provider.defaultSerializeValue(error.getErrors(), gen);
+        }
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,59 @@
+package br.edu.ifba.xpnewsbackend.infrastructure.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+
+/**
+ * Nomes de campo pré-codificados usados pelos serializadores: o nome é convertido em bytes uma única vez,
+ * e não a cada resposta.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class JsonFields {
+
+    static final SerializableString ID = new SerializedString("id");
+    static final SerializableString FULL_NAME = new SerializedString("fullName");
+    static final SerializableString EMAIL = new SerializedString("email");
+    static final SerializableString USERNAME = new SerializedString("username");
+    static final SerializableString ROLE = new SerializedString("role");
+
+    static final SerializableString CONTENT = new SerializedString("content");
+    static final SerializableString FIRST = new SerializedString("first");
+    static final SerializableString LAST = new SerializedString("last");
+    static final SerializableString PAGE = new SerializedString("page");
+    static final SerializableString SIZE = new SerializedString("size");
+    static final SerializableString PAGE_ELEMENTS = new SerializedString("pageElements");
+    static final SerializableString TOTAL_PAGES = new SerializedString("totalPages");
+    static final SerializableString TOTAL_ELEMENTS = new SerializedString("totalElements");
+    static final SerializableString DEGRADED = new SerializedString("degraded");
+
+    static final SerializableString PATH = new SerializedString("path");
+    static final SerializableString METHOD = new SerializedString("method");
+    static final SerializableString STATUS = new SerializedString("status");
+    static final SerializableString STATUS_TEXT = new SerializedString("statusText");
+    static final SerializableString TIMESTAMP = new SerializedString("timestamp");
+    static final SerializableString MESSAGE = new SerializedString("message");
+    static final SerializableString ERRORS = new SerializedString("errors");
+
+    static void writeString(JsonGenerator gen, SerializableString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+
+    static void writeNumber(JsonGenerator gen, SerializableString name, Long value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.longValue());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package br.edu.ifba.xpnewsbackend.infrastructure.json;
+
+import br.edu.ifba.xpnewsbackend.infrastructure.dto.PageableDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Serializa o PageableDto com os nomes expostos pela API (page, pageElements), sem os totais quando nulos
+ * e sem o indicador degraded quando falso.
+ * O serializador dos itens é buscado uma vez por classe, e não a cada elemento do conteúdo.
+ */
+@SuppressWarnings("rawtypes")
+public class PageableDtoSerializer extends StdSerializer<PageableDto> {
+
+    public PageableDtoSerializer() {
+        super(PageableDto.class);
+    }
+
+    @Override
+    public void serialize(PageableDto page, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(page);
+        gen.writeFieldName(JsonFields.CONTENT);
+        writeContent(page, gen, provider);
+        gen.writeFieldName(JsonFields.FIRST);
+        gen.writeBoolean(page.isFirst());
+        gen.writeFieldName(JsonFields.LAST);
+        gen.writeBoolean(page.isLast());
+        gen.writeFieldName(JsonFields.SIZE);
+        gen.writeNumber(page.getSize());
+        if (page.getTotalPages() != null) {
+            gen.writeFieldName(JsonFields.TOTAL_PAGES);
+            gen.writeNumber(page.getTotalPages());
+        }
+        if (page.getTotalElements() != null) {
+            gen.writeFieldName(JsonFields.TOTAL_ELEMENTS);
+            gen.writeNumber(page.getTotalElements());
+        }
+        if (page.isDegraded()) {
+            gen.writeFieldName(JsonFields.DEGRADED);
+            gen.writeBoolean(true);
+        }
+        // Como na introspecção padrão, as propriedades renomeadas com @JsonProperty vêm por último
+        gen.writeFieldName(JsonFields.PAGE);
+        gen.writeNumber(page.getNumber());
+        gen.writeFieldName(JsonFields.PAGE_ELEMENTS);
+        gen.writeNumber(page.getNumberOfElements());
+        gen.writeEndObject();
+    }
+
+    private static void writeContent(PageableDto page, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (page.getContent() == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartArray();
+        Class<?> lastType = null;
+        JsonSerializer<Object> serializer = null;
+        for (Object item : page.getContent()) {
+            if (item == null) {
+                provider.defaultSerializeNull(gen);
+                continue;
+            }
+            if (item.getClass() != lastType) {
+                lastType = item.getClass();
+                serializer = provider.findTypedValueSerializer(lastType, true, null);
+            }
+            serializer.serialize(item, gen, provider);
+        }
+        gen.writeEndArray();
+    }
+}
@@ -0,0 +1,31 @@
+package br.edu.ifba.xpnewsbackend.infrastructure.json;
+
+import br.edu.ifba.xpnewsbackend.user.repository.UserProjection;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Serializa as projeções de usuário chamando os getters diretamente, sem introspecção nem reflexão por campo.
+ * É registrado apenas para o UserSummary, que todas as consultas usam: os proxies das projeções por interface
+ * saem com outra ordem de campos na introspecção padrão e continuam com ela.
+ */
+public class UserProjectionSerializer extends StdSerializer<UserProjection> {
+
+    public UserProjectionSerializer() {
+        super(UserProjection.class);
+    }
+
+    @Override
+    public void serialize(UserProjection user, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(user);
+        JsonFields.writeNumber(gen, JsonFields.ID, user.getId());
+        JsonFields.writeString(gen, JsonFields.FULL_NAME, user.getFullName());
+        JsonFields.writeString(gen, JsonFields.EMAIL, user.getEmail());
+        JsonFields.writeString(gen, JsonFields.USERNAME, user.getUsername());
+        JsonFields.writeString(gen, JsonFields.ROLE, user.getRole());
+        gen.writeEndObject();
+    }
+}
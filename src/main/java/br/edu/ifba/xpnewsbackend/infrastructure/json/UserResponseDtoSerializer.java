@@ -0,0 +1,29 @@
+package br.edu.ifba.xpnewsbackend.infrastructure.json;
+
+import br.edu.ifba.xpnewsbackend.user.dto.UserResponseDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Serializa o UserResponseDto campo a campo, na mesma ordem e com os mesmos nomes da introspecção padrão.
+ */
+public class UserResponseDtoSerializer extends StdSerializer<UserResponseDto> {
+
+    public UserResponseDtoSerializer() {
+        super(UserResponseDto.class);
+    }
+
+    @Override
+    public void serialize(UserResponseDto dto, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(dto);
+        JsonFields.writeNumber(gen, JsonFields.ID, dto.getId());
+        JsonFields.writeString(gen, JsonFields.FULL_NAME, dto.getFullName());
+        JsonFields.writeString(gen, JsonFields.EMAIL, dto.getEmail());
+        JsonFields.writeString(gen, JsonFields.USERNAME, dto.getUsername());
+        JsonFields.writeString(gen, JsonFields.ROLE, dto.getRole());
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,63 @@
+package br.edu.ifba.xpnewsbackend.infrastructure.mapper;
+
+import br.edu.ifba.xpnewsbackend.infrastructure.dto.CursorPageDto;
+import br.edu.ifba.xpnewsbackend.infrastructure.exception.InvalidCursorException;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CursorMapper {
+
+    private static final String PREFIX = "id:";
+
+    /**
+     * Gera o cursor opaco que aponta para o registro seguinte ao id informado.
+     * @param lastId Id do último registro entregue.
+     * @return Cursor codificado em Base64 (URL safe).
+     */
+    public static String encode(Long lastId) {
+        byte[] raw = (PREFIX + lastId).getBytes(StandardCharsets.US_ASCII);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * Lê o id contido no cursor. Um cursor nulo ou vazio indica a primeira página.
+     * @param cursor Cursor recebido do cliente.
+     * @return Id a partir do qual a busca deve continuar.
+     */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (!raw.startsWith(PREFIX)) {
+                throw new InvalidCursorException("Cursor inválido: " + cursor);
+            }
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Cursor inválido: " + cursor);
+        }
+    }
+
+    /**
+     * Monta a página a partir de uma consulta que buscou um registro a mais que o tamanho pedido.
+     * A existência desse registro extra indica que há uma próxima página, sem precisar de count.
+     * @param rows Registros retornados, no máximo size + 1.
+     * @param size Tamanho da página solicitado.
+     * @param idOf Função que extrai o id usado como chave de busca.
+     * @return DTO com o conteúdo da página e o cursor da próxima.
+     */
+    public static <T> CursorPageDto<T> toDto(List<T> rows, int size, Function<T, Long> idOf) {
+        if (rows.size() <= size) {
+            return new CursorPageDto<>(rows, size, null);
+        }
+        List<T> content = rows.subList(0, size);
+        return new CursorPageDto<>(content, size, encode(idOf.apply(content.get(size - 1))));
+    }
+}
@@ -3,13 +3,38 @@ package br.edu.ifba.xpnewsbackend.infrastructure.mapper;
 import br.edu.ifba.xpnewsbackend.infrastructure.dto.PageableDto;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class PageableMapper {
 
-    public static PageableDto toDto(Page page) {
-        return new ModelMapper().map(page, PageableDto.class);
+    /**
+     * Converte uma página do Spring Data para o DTO de paginação, incluindo os totais.
+     * @param page Página retornada pelo repositório.
+     * @return DTO de paginação com o mesmo conteúdo da página.
+     */
+    public static <T> PageableDto<T> toDto(Page<T> page) {
+        PageableDto<T> dto = toDto((Slice<T>) page);
+        dto.setTotalPages(page.getTotalPages());
+        dto.setTotalElements((int) page.getTotalElements());
+        return dto;
     }
-}
\ No newline at end of file
+
+    /**
+     * Converte um Slice do Spring Data para o DTO de paginação.
+     * Como o Slice não executa a contagem, os totais não são preenchidos.
+     * @param slice Fatia retornada pelo repositório.
+     * @return DTO de paginação sem os totais.
+     */
+    public static <T> PageableDto<T> toDto(Slice<T> slice) {
+        PageableDto<T> dto = new PageableDto<>();
+        dto.setContent(slice.getContent());
+        dto.setFirst(slice.isFirst());
+        dto.setLast(slice.isLast());
+        dto.setNumber(slice.getNumber());
+        dto.setSize(slice.getSize());
+        dto.setNumberOfElements(slice.getNumberOfElements());
+        return dto;
+    }
+}
@@ -0,0 +1,176 @@
+package br.edu.ifba.xpnewsbackend.infrastructure.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Índice ordenado por chave para buscas por prefixo.
+ * A base fica em dois arrays ordenados (chaves e valores), consultados por busca binária; as escritas vão para
+ * um delta pequeno (inclusões e remoções) que é mesclado à base quando passa de uma fração do seu tamanho.
+ * Assim a consulta custa O(log n + resultados) e a memória fica próxima à de um array de referências.
+ * A classe não é thread-safe; quem a usa deve controlar o acesso concorrente.
+ * @param <T> Tipo do valor guardado; a chave de cada valor deve ser única.
+ */
+public class SortedPrefixIndex<T> {
+
+    private static final int MINIMUM_COMPACTION_THRESHOLD = 1024;
+    private static final int COMPACTION_DIVISOR = 16;
+
+    private final Function<T, String> keyOf;
+    private String[] keys;
+    private Object[] values;
+    private final TreeMap<String, T> added = new TreeMap<>();
+    private final Set<String> removed = new HashSet<>();
+
+    /**
+     * Cria o índice a partir dos valores informados, em qualquer ordem.
+     * @param values Valores iniciais.
+     * @param keyOf Função que extrai a chave (única) de cada valor.
+     */
+    public SortedPrefixIndex(Collection<T> values, Function<T, String> keyOf) {
+        this.keyOf = keyOf;
+        Object[] sorted = values.toArray();
+        @SuppressWarnings("unchecked")
+        Comparator<Object> byKey = Comparator.comparing(value -> keyOf.apply((T) value));
+        Arrays.sort(sorted, byKey);
+        this.values = sorted;
+        this.keys = new String[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            keys[i] = key(i);
+        }
+    }
+
+    /**
+     * Inclui ou substitui o valor com a mesma chave.
+     */
+    public void put(T value) {
+        added.put(keyOf.apply(value), value);
+        compactIfNeeded();
+    }
+
+    /**
+     * Remove o valor com a chave informada, se existir.
+     */
+    public void remove(String key) {
+        added.remove(key);
+        if (Arrays.binarySearch(keys, key) >= 0) {
+            removed.add(key);
+        }
+        compactIfNeeded();
+    }
+
+    /**
+     * Retorna, em ordem de chave, os primeiros valores cuja chave começa com o prefixo.
+     * @param prefix Prefixo buscado.
+     * @param limit Quantidade máxima de valores.
+     * @return Valores encontrados.
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> findByPrefix(String prefix, int limit) {
+        List<T> result = new ArrayList<>(Math.min(limit, 64));
+        int i = lowerBound(prefix);
+        Iterator<Map.Entry<String, T>> delta = added.tailMap(prefix, true).entrySet().iterator();
+        Map.Entry<String, T> next = nextMatching(delta, prefix);
+        while (result.size() < limit) {
+            String baseKey = i < keys.length && keys[i].startsWith(prefix) ? keys[i] : null;
+            if (baseKey != null && removed.contains(baseKey)) {
+                i++;
+                continue;
+            }
+            if (baseKey == null && next == null) {
+                break;
+            }
+            if (next != null && (baseKey == null || next.getKey().compareTo(baseKey) <= 0)) {
+                if (next.getKey().equals(baseKey)) {
+                    // O valor do delta substitui o da base
+                    i++;
+                }
+                result.add(next.getValue());
+                next = nextMatching(delta, prefix);
+            } else {
+                result.add((T) values[i]);
+                i++;
+            }
+        }
+        return result;
+    }
+
+    /** Quantidade de valores no índice. */
+    public int size() {
+        int overridden = 0;
+        for (String key : added.keySet()) {
+            if (!removed.contains(key) && Arrays.binarySearch(keys, key) >= 0) {
+                overridden++;
+            }
+        }
+        return keys.length - removed.size() - overridden + added.size();
+    }
+
+    private Map.Entry<String, T> nextMatching(Iterator<Map.Entry<String, T>> delta, String prefix) {
+        if (!delta.hasNext()) {
+            return null;
+        }
+        Map.Entry<String, T> entry = delta.next();
+        return entry.getKey().startsWith(prefix) ? entry : null;
+    }
+
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle].compareTo(prefix) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private void compactIfNeeded() {
+        if (added.size() + removed.size() <= Math.max(MINIMUM_COMPACTION_THRESHOLD, keys.length / COMPACTION_DIVISOR)) {
+            return;
+        }
+        List<Object> merged = new ArrayList<>(keys.length + added.size());
+        Iterator<Map.Entry<String, T>> delta = added.entrySet().iterator();
+        Map.Entry<String, T> next = delta.hasNext() ? delta.next() : null;
+        for (int i = 0; i < keys.length; i++) {
+            while (next != null && next.getKey().compareTo(keys[i]) < 0) {
+                merged.add(next.getValue());
+                next = delta.hasNext() ? delta.next() : null;
+            }
+            if (next != null && next.getKey().equals(keys[i])) {
+                continue;
+            }
+            if (!removed.contains(keys[i])) {
+                merged.add(values[i]);
+            }
+        }
+        while (next != null) {
+            merged.add(next.getValue());
+            next = delta.hasNext() ? delta.next() : null;
+        }
+        values = merged.toArray();
+        keys = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            keys[i] = key(i);
+        }
+        added.clear();
+        removed.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private String key(int index) {
+        return keyOf.apply((T) values[index]);
+    }
+}
@@ -0,0 +1,207 @@
+package br.edu.ifba.xpnewsbackend.infrastructure.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido de trigramas em memória para busca aproximada por texto.
+ * Cada documento recebe um número interno sequencial; as listas de ocorrência guardam esses números em arrays
+ * de int que só crescem, então ficam ordenadas sem custo. Alterar ou remover um documento apenas o marca como
+ * removido: o espaço é recuperado quando o índice é reconstruído.
+ * A classe não é thread-safe; quem a usa deve controlar o acesso concorrente.
+ * @param <T> Tipo do documento guardado e devolvido pela busca.
+ */
+public class TrigramIndex<T> {
+
+    // Termos da consulta além disso são ignorados; mantém o contador de ocorrências por documento em um byte
+    private static final int MAX_QUERY_TRIGRAMS = 64;
+    // Fração mínima dos trigramas da consulta que um documento precisa ter, o que tolera pequenos erros de digitação
+    private static final double MINIMUM_MATCH_RATIO = 0.6;
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> docById = new HashMap<>();
+    private final BitSet removed = new BitSet();
+    private long[] ids = new long[1024];
+    private int[] lengths = new int[1024];
+    private Object[] docs = new Object[1024];
+    private int nextDoc;
+
+    /**
+     * Resultado de uma busca: total de documentos encontrados e os documentos da página pedida, em ordem de relevância.
+     */
+    public record Result<T>(long total, List<T> content) {
+    }
+
+    /**
+     * Indexa (ou reindexa) um documento a partir dos textos informados.
+     * @param id Identificador do documento; um documento já indexado com o mesmo id é substituído.
+     * @param doc Documento devolvido pela busca.
+     * @param texts Textos pesquisáveis do documento.
+     */
+    public void put(long id, T doc, String... texts) {
+        remove(id);
+        int docNum = nextDoc++;
+        if (docNum == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            docs = Arrays.copyOf(docs, capacity);
+        }
+        ids[docNum] = id;
+        docs[docNum] = doc;
+        long[] trigrams = trigrams(texts, false);
+        lengths[docNum] = trigrams.length;
+        for (long trigram : trigrams) {
+            postings.computeIfAbsent(trigram, key -> new Postings()).add(docNum);
+        }
+        docById.put(id, docNum);
+    }
+
+    /**
+     * Remove o documento com o id informado, se existir.
+     */
+    public void remove(long id) {
+        Integer docNum = docById.remove(id);
+        if (docNum != null) {
+            removed.set(docNum);
+            docs[docNum] = null;
+        }
+    }
+
+    /** Quantidade de documentos indexados. */
+    public int size() {
+        return docById.size();
+    }
+
+    /** Quantidade de versões antigas ou removidas que ainda ocupam espaço no índice. */
+    public int removedCount() {
+        return nextDoc - docById.size();
+    }
+
+    /**
+     * Busca os documentos que contêm a maior parte dos trigramas da consulta.
+     * A ordem é pela quantidade de trigramas em comum e, no empate, pelo documento mais curto (mais específico) e pelo id.
+     * A última palavra da consulta é tratada como prefixo, para buscas enquanto o usuário digita.
+     * @param query Texto buscado.
+     * @param offset Quantidade de resultados a pular.
+     * @param limit Quantidade máxima de resultados devolvidos.
+     * @return Total encontrado e os documentos da página.
+     */
+    @SuppressWarnings("unchecked")
+    public Result<T> search(String query, int offset, int limit) {
+        // O mínimo exigido considera a última palavra como prefixo; o trigrama que fecha a palavra
+        // entra apenas na pontuação, para que a palavra completa fique à frente das que só começam com ela
+        long[] prefixTrigrams = trigrams(new String[]{query}, true);
+        if (prefixTrigrams.length == 0) {
+            return new Result<>(0, List.of());
+        }
+        long[] trigrams = trigrams(new String[]{query}, false);
+        if (trigrams.length > MAX_QUERY_TRIGRAMS) {
+            trigrams = Arrays.copyOf(trigrams, MAX_QUERY_TRIGRAMS);
+        }
+        int minimumMatch = (int) Math.ceil(Math.min(prefixTrigrams.length, MAX_QUERY_TRIGRAMS) * MINIMUM_MATCH_RATIO);
+
+        byte[] matches = new byte[nextDoc];
+        Postings candidates = new Postings();
+        for (long trigram : trigrams) {
+            Postings list = postings.get(trigram);
+            if (list == null) {
+                continue;
+            }
+            for (int i = 0; i < list.size; i++) {
+                int docNum = list.docs[i];
+                if (++matches[docNum] == minimumMatch && !removed.get(docNum)) {
+                    candidates.add(docNum);
+                }
+            }
+        }
+
+        Comparator<Integer> ranking = Comparator
+                .<Integer>comparingInt(docNum -> matches[docNum]).reversed()
+                .thenComparingInt(docNum -> lengths[docNum])
+                .thenComparingLong(docNum -> ids[docNum]);
+        int wanted = (int) Math.min((long) offset + limit, candidates.size);
+        PriorityQueue<Integer> top = new PriorityQueue<>(Math.max(1, wanted), ranking.reversed());
+        for (int i = 0; i < candidates.size && wanted > 0; i++) {
+            int docNum = candidates.docs[i];
+            if (top.size() < wanted) {
+                top.add(docNum);
+            } else if (ranking.compare(docNum, top.peek()) < 0) {
+                top.poll();
+                top.add(docNum);
+            }
+        }
+        List<Integer> ranked = new ArrayList<>(top);
+        ranked.sort(ranking);
+        List<T> content = new ArrayList<>(Math.max(0, ranked.size() - offset));
+        for (int i = offset; i < ranked.size(); i++) {
+            content.add((T) docs[ranked.get(i)]);
+        }
+        return new Result<>(candidates.size, content);
+    }
+
+    /**
+     * Extrai os trigramas distintos dos textos. Cada palavra é normalizada (minúsculas, sem acentos) e recebe
+     * um espaço antes e depois, para que o início e o fim das palavras também sejam pesquisáveis.
+     */
+    private static long[] trigrams(String[] texts, boolean lastWordIsPrefix) {
+        List<String> words = new ArrayList<>();
+        for (String text : texts) {
+            if (text != null) {
+                words(text, words);
+            }
+        }
+        long[] result = new long[16];
+        int size = 0;
+        for (int w = 0; w < words.size(); w++) {
+            boolean prefix = lastWordIsPrefix && w == words.size() - 1;
+            String padded = " " + words.get(w) + (prefix ? "" : " ");
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                if (size == result.length) {
+                    result = Arrays.copyOf(result, size * 2);
+                }
+                result[size++] = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2);
+            }
+        }
+        return Arrays.stream(result, 0, size).distinct().toArray();
+    }
+
+    private static void words(String text, List<String> words) {
+        String normalized = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean letter = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                words.add(normalized.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+    }
+
+    /**
+     * Lista de números de documento, crescente por construção.
+     */
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int size;
+
+        private void add(int docNum) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = docNum;
+        }
+    }
+}
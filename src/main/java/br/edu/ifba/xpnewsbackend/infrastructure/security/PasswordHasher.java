@@ -0,0 +1,177 @@
+package br.edu.ifba.xpnewsbackend.infrastructure.security;
+
+import br.edu.ifba.xpnewsbackend.infrastructure.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Geração e verificação de hashes de senha com bcrypt.
+ * O bcrypt é caro em CPU de propósito, por isso o trabalho roda num pool próprio, de tamanho fixo e fila limitada:
+ * as threads do Tomcat apenas aguardam o resultado e, com a fila cheia, a requisição falha rápido
+ * em vez de acumular trabalho que disputaria CPU com o restante da aplicação.
+ * Senhas gravadas antes da adoção do hash (texto puro) continuam sendo aceitas na verificação.
+ */
+@Component
+@Slf4j
+public class PasswordHasher {
+
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\A\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}");
+    private static final String UNAVAILABLE_MESSAGE = "Serviço de senhas sobrecarregado, tente novamente em instantes";
+
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final Timer hashTimer;
+    private final Timer verifyTimer;
+
+    public PasswordHasher(MeterRegistry registry,
+                          @Value("${xp-news.password.bcrypt-strength:10}") int strength,
+                          @Value("${xp-news.password.pool-size:0}") int poolSize,
+                          @Value("${xp-news.password.queue-capacity:100}") int queueCapacity,
+                          @Value("${xp-news.password.timeout:PT5S}") Duration timeout) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.encoder = new BCryptPasswordEncoder(strength);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.timeout = timeout;
+        this.hashTimer = timer(registry, "hash");
+        this.verifyTimer = timer(registry, "verify");
+        ExecutorServiceMetrics.monitor(registry, executor, "password-hasher");
+        log.info("Hash de senhas com bcrypt (custo {}) em {} threads, fila de até {} tarefas", strength, threads, queueCapacity);
+    }
+
+    /**
+     * Gera o hash de uma senha.
+     * @param rawPassword Senha em texto puro.
+     * @return Hash bcrypt da senha.
+     */
+    public String hash(String rawPassword) {
+        return run(() -> encoder.encode(rawPassword), timeout, hashTimer);
+    }
+
+    /**
+     * Gera o hash de várias senhas, dividindo-as entre as threads do pool.
+     * @param rawPasswords Senhas em texto puro.
+     * @return Hashes na mesma ordem das senhas recebidas.
+     */
+    public List<String> hashAll(List<String> rawPasswords) {
+        int size = rawPasswords.size();
+        int slices = Math.min(size, executor.getMaximumPoolSize());
+        if (slices == 0) {
+            return List.of();
+        }
+        int sliceSize = (size + slices - 1) / slices;
+        long start = System.nanoTime();
+        List<Future<List<String>>> futures = new ArrayList<>(slices);
+        try {
+            for (int from = 0; from < size; from += sliceSize) {
+                List<String> slice = rawPasswords.subList(from, Math.min(from + sliceSize, size));
+                futures.add(submit(() -> slice.stream().map(encoder::encode).toList()));
+            }
+            List<String> hashes = new ArrayList<>(size);
+            for (Future<List<String>> future : futures) {
+                hashes.addAll(await(future, timeout.multipliedBy(sliceSize)));
+            }
+            return hashes;
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+            hashTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Verifica se a senha informada corresponde à senha gravada.
+     * Valores gravados que não são um hash bcrypt são tratados como senhas legadas em texto puro.
+     * @param rawPassword Senha informada pelo usuário.
+     * @param storedPassword Senha gravada no banco.
+     * @return true se as senhas correspondem.
+     */
+    public boolean matches(String rawPassword, String storedPassword) {
+        if (rawPassword == null || storedPassword == null) {
+            return false;
+        }
+        if (!isHashed(storedPassword)) {
+            return MessageDigest.isEqual(rawPassword.getBytes(StandardCharsets.UTF_8),
+                    storedPassword.getBytes(StandardCharsets.UTF_8));
+        }
+        return run(() -> encoder.matches(rawPassword, storedPassword), timeout, verifyTimer);
+    }
+
+    private static Timer timer(MeterRegistry registry, String operation) {
+        return Timer.builder("users.password.hashing")
+                .tag("operation", operation)
+                .description("Tempo total (fila + cálculo) das operações com hash de senha")
+                .register(registry);
+    }
+
+    private static boolean isHashed(String storedPassword) {
+        return storedPassword != null && BCRYPT_PATTERN.matcher(storedPassword).matches();
+    }
+
+    private <T> T run(Callable<T> task, Duration limit, Timer timer) {
+        long start = System.nanoTime();
+        Future<T> future = submit(task);
+        try {
+            return await(future, limit);
+        } finally {
+            future.cancel(true);
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private <T> Future<T> submit(Callable<T> task) {
+        try {
+            return executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            // Cada recusa já é contada e logada com limite de taxa pelo ApiExceptionHandler
+            log.debug("Fila de hash de senhas cheia ({} tarefas); requisição recusada", executor.getQueue().size());
+            throw new PasswordHashingUnavailableException(UNAVAILABLE_MESSAGE);
+        }
+    }
+
+    private static <T> T await(Future<T> future, Duration limit) {
+        try {
+            return future.get(limit.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.debug("Hash de senha não concluído em {}", limit);
+            throw new PasswordHashingUnavailableException(UNAVAILABLE_MESSAGE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException(UNAVAILABLE_MESSAGE);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha ao calcular o hash da senha", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,150 @@
+package br.edu.ifba.xpnewsbackend.infrastructure.web;
+
+import br.edu.ifba.xpnewsbackend.infrastructure.exception.ErrorMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limita a quantidade de requisições em processamento ao mesmo tempo.
+ * Com threads de plataforma o próprio pool do Tomcat já faz esse papel; com threads virtuais
+ * (spring.threads.virtual.enabled=true) não há esse teto, e sem este filtro uma rajada de requisições
+ * ficaria toda enfileirada no pool de conexões do banco até estourar o connection-timeout.
+ * Acima do limite, a requisição espera no máximo acquire-timeout por uma vaga e depois recebe 503.
+ * Requisições assíncronas (exportação em fluxo, busca pelo cliente HTTP) ocupam a vaga até a resposta terminar.
+ * O limite não reserva conexões do banco: quem não obtém uma dentro do connection-timeout do Hikari também recebe 503
+ * (ver ApiExceptionHandler). As métricas http.server.requests.in-flight e http.server.requests.in-flight.peak mostram
+ * as requisições em processamento agora e o maior número simultâneo desde a inicialização.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String REJECTED_MESSAGE = "Servidor sobrecarregado, tente novamente em instantes";
+
+    private final ObjectMapper objectMapper;
+    private final Semaphore permits;
+    private final int maxInFlight;
+    private final long acquireTimeoutNanos;
+    private final Counter rejected;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peak = new AtomicInteger();
+
+    public ConcurrencyLimitFilter(ObjectMapper objectMapper,
+                                  ObjectProvider<MeterRegistry> registry,
+                                  @Value("${xp-news.concurrency.max-in-flight:200}") int maxInFlight,
+                                  @Value("${xp-news.concurrency.acquire-timeout:PT1S}") Duration acquireTimeout) {
+        MeterRegistry meters = registry.getIfAvailable(() -> Metrics.globalRegistry);
+        this.objectMapper = objectMapper;
+        this.maxInFlight = maxInFlight;
+        this.permits = new Semaphore(maxInFlight);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.rejected = Counter.builder("http.server.requests.rejected").register(meters);
+        Gauge.builder("http.server.requests.in-flight", inFlight, AtomicInteger::get)
+                .register(meters);
+        // Um gauge amostrado periodicamente não captura picos curtos; o máximo é registrado a cada admissão
+        Gauge.builder("http.server.requests.in-flight.peak", peak, AtomicInteger::get)
+                .register(meters);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            log.debug("Requisição recusada: {} requisições já em processamento", maxInFlight);
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(),
+                    new ErrorMessage(request, HttpStatus.SERVICE_UNAVAILABLE, Instant.now(), REJECTED_MESSAGE));
+            return;
+        }
+        peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion());
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                release();
+            }
+        }
+    }
+
+    /**
+     * Devolve a vaga de uma requisição assíncrona só quando ela termina de fato, e não quando a thread do
+     * container é liberada: uma exportação em fluxo segura conexão e cursor do banco durante toda a resposta.
+     */
+    private class ReleaseOnCompletion implements AsyncListener {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Um novo ciclo assíncrono na mesma requisição continua com a mesma vaga
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                ConcurrencyLimitFilter.this.release();
+            }
+        }
+    }
+
+    private void release() {
+        inFlight.decrementAndGet();
+        permits.release();
+    }
+}
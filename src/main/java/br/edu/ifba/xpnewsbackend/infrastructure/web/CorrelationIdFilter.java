@@ -0,0 +1,58 @@
+package br.edu.ifba.xpnewsbackend.infrastructure.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Associa um id de correlação a cada requisição e o coloca no MDC, de onde os logs estruturados o incluem em cada linha.
+ * O id enviado pelo cliente (ou por um proxy) no cabeçalho X-Request-Id é reaproveitado quando tem um formato seguro;
+ * caso contrário, um novo id é gerado. O id também é devolvido na resposta.
+ * O filtro também roda no despacho assíncrono (quando o resultado de um CompletableFuture é escrito),
+ * reaproveitando o id do despacho original; as tarefas do applicationTaskExecutor o recebem pelo {@link MdcTaskDecorator}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CorrelationIdFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Request-Id";
+    public static final String MDC_KEY = "correlationId";
+
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+    private static final String ATTRIBUTE = CorrelationIdFilter.class.getName() + ".id";
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String correlationId = (String) request.getAttribute(ATTRIBUTE);
+        if (correlationId == null) {
+            correlationId = request.getHeader(HEADER);
+            if (correlationId == null || !VALID_ID.matcher(correlationId).matches()) {
+                correlationId = UUID.randomUUID().toString();
+            }
+            request.setAttribute(ATTRIBUTE, correlationId);
+            response.setHeader(HEADER, correlationId);
+        }
+        MDC.put(MDC_KEY, correlationId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package br.edu.ifba.xpnewsbackend.infrastructure.web;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Copia o MDC da thread que agenda a tarefa para a thread que a executa.
+ * O Boot aplica este decorador ao applicationTaskExecutor e o WebConfig ao pool das respostas assíncronas
+ * (exportação em fluxo); assim os logs dessas tarefas mantêm o id de correlação.
+ */
+@Component
+public class MdcTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            if (context != null) {
+                MDC.setContextMap(context);
+            } else {
+                MDC.clear();
+            }
+            try {
+                runnable.run();
+            } finally {
+                if (previous != null) {
+                    MDC.setContextMap(previous);
+                } else {
+                    MDC.clear();
+                }
+            }
+        };
+    }
+}
@@ -1,29 +1,77 @@
 package br.edu.ifba.xpnewsbackend.user.controller;
 
+import br.edu.ifba.xpnewsbackend.infrastructure.dto.CountMode;
+import br.edu.ifba.xpnewsbackend.infrastructure.dto.CursorPageDto;
+import br.edu.ifba.xpnewsbackend.infrastructure.dto.ExportFormat;
 import br.edu.ifba.xpnewsbackend.infrastructure.dto.PageableDto;
+import br.edu.ifba.xpnewsbackend.infrastructure.exception.BatchLimitExceededException;
+import br.edu.ifba.xpnewsbackend.infrastructure.exception.PreconditionFailedException;
+import br.edu.ifba.xpnewsbackend.infrastructure.mapper.CursorMapper;
 import br.edu.ifba.xpnewsbackend.infrastructure.mapper.PageableMapper;
+import br.edu.ifba.xpnewsbackend.user.dto.UserAvailabilityDto;
+import br.edu.ifba.xpnewsbackend.user.dto.UserBatchItemDto;
+import br.edu.ifba.xpnewsbackend.user.dto.UserBatchResponseDto;
 import br.edu.ifba.xpnewsbackend.user.dto.UserCreateDto;
+import br.edu.ifba.xpnewsbackend.user.dto.UserDeleteBatchResponseDto;
+import br.edu.ifba.xpnewsbackend.user.dto.UserImportReportDto;
+import br.edu.ifba.xpnewsbackend.user.dto.UserLookupDto;
+import br.edu.ifba.xpnewsbackend.user.dto.UserPatchDto;
 import br.edu.ifba.xpnewsbackend.user.dto.UserResponseDto;
 import br.edu.ifba.xpnewsbackend.user.dto.UserUpdateDto;
 import br.edu.ifba.xpnewsbackend.user.dto.UserUpdatePasswordDto;
 import br.edu.ifba.xpnewsbackend.user.entity.User;
+import br.edu.ifba.xpnewsbackend.user.mapper.UserExportWriter;
 import br.edu.ifba.xpnewsbackend.user.mapper.UserMapper;
 import br.edu.ifba.xpnewsbackend.user.repository.UserProjection;
+import br.edu.ifba.xpnewsbackend.user.repository.UserSummary;
+import br.edu.ifba.xpnewsbackend.user.repository.UserVersion;
 import br.edu.ifba.xpnewsbackend.user.service.UserIService;
+import br.edu.ifba.xpnewsbackend.user.service.UserImportService;
+import br.edu.ifba.xpnewsbackend.user.service.UserValidation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("xp-news/users")
 @RequiredArgsConstructor
 public class UserController {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 1000;
+
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+
+    private static final int MAX_AUTOCOMPLETE_SIZE = 50;
+
+    private static final int MAX_CLIENT_PAGES = 20;
+
+    // Formato binário do Jackson (Smile); o MediaType não tem uma constante para ele
+    private static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
     private final UserIService service;
+    private final UserImportService importService;
+    private final Validator validator;
 
     /**
      * Cria um novo usuário no sistema.
@@ -34,42 +82,194 @@ public class UserController {
         return ResponseEntity.ok(UserMapper.toDto(user));
     }
 
+    /**
+     * Cria vários usuários em uma única requisição.
+     * Cada item é validado individualmente; itens inválidos ou em conflito são reportados sem impedir os demais.
+     */
+    @PostMapping(value = "/create-batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<UserBatchResponseDto> createBatch(@RequestBody List<UserCreateDto> dtos){
+        if (dtos.size() > MAX_BATCH_SIZE) {
+            throw new BatchLimitExceededException("O lote pode ter no máximo " + MAX_BATCH_SIZE + " usuários.");
+        }
+
+        UserBatchItemDto[] items = new UserBatchItemDto[dtos.size()];
+        List<User> users = new ArrayList<>(dtos.size());
+        List<Integer> positions = new ArrayList<>(dtos.size());
+        for (int i = 0; i < dtos.size(); i++) {
+            String violations = UserValidation.validate(validator, dtos.get(i));
+            if (violations != null) {
+                items[i] = new UserBatchItemDto(i, UserBatchItemDto.Status.INVALID, null, violations);
+            } else {
+                users.add(UserMapper.toUser(dtos.get(i)));
+                positions.add(i);
+            }
+        }
+
+        List<UserBatchItemDto> results = service.createAll(users);
+        for (int i = 0; i < results.size(); i++) {
+            UserBatchItemDto result = results.get(i);
+            result.setIndex(positions.get(i));
+            items[result.getIndex()] = result;
+        }
+        return ResponseEntity.ok(UserMapper.toBatchResponse(Arrays.asList(items)));
+    }
+
+    /**
+     * Importa usuários de um arquivo NDJSON (padrão) ou CSV enviado no corpo da requisição.
+     * O arquivo é lido em fluxo e gravado em blocos; o relatório traz os totais e os erros por linha.
+     */
+    @PostMapping(value = "/import", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<UserImportReportDto> importUsers(@RequestParam(value = "format", defaultValue = "NDJSON") ExportFormat format,
+                                                           InputStream body) throws IOException {
+        return ResponseEntity.ok(importService.importUsers(format, body));
+    }
+
     /**
      * Retorna uma lista paginada de usuários.
+     * O parâmetro "count" escolhe como os totais são obtidos: EXACT (padrão), CACHED ou NONE.
      */
-    @GetMapping(value = "/find-all", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<PageableDto> findAll(Pageable pageable){
-        Page<UserProjection> users = service.findAll(pageable);
-        return ResponseEntity.ok(PageableMapper.toDto(users));
+    @GetMapping(value = "/find-all", produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<PageableDto<UserProjection>> findAll(Pageable pageable,
+                                                               @RequestParam(value = "count", defaultValue = "EXACT") CountMode count){
+        return switch (count) {
+            case EXACT -> ResponseEntity.ok(PageableMapper.toDto(service.findAll(pageable)));
+            case CACHED -> ResponseEntity.ok(PageableMapper.toDto(service.findAllWithCachedCount(pageable)));
+            case NONE -> ResponseEntity.ok(PageableMapper.toDto(service.findAllSlice(pageable)));
+        };
     }
 
-    @GetMapping(value = "/find-all-with-client", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<PageableDto> findAllWithClient(){
-        return ResponseEntity.ok(service.findAllWithClient());
+    /**
+     * Retorna uma página de usuários usando paginação por cursor (keyset), ordenada por id.
+     * O campo "next" da resposta deve ser enviado como "cursor" para obter a página seguinte.
+     */
+    @GetMapping(value = "/find-all-cursor", produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<CursorPageDto<UserProjection>> findAllByCursor(@RequestParam(value = "cursor", required = false) String cursor,
+                                                                         @RequestParam(value = "size", defaultValue = "20") int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        List<UserProjection> users = service.findAllAfter(CursorMapper.decode(cursor), pageSize + 1);
+        return ResponseEntity.ok(CursorMapper.toDto(users, pageSize, UserProjection::getId));
+    }
+
+    /**
+     * Busca usuários por trecho do nome completo, username ou email, com resultados paginados e ordenados por relevância.
+     */
+    @GetMapping(value = "/search", params = "q", produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<PageableDto<UserProjection>> search(@RequestParam("q") String query, Pageable pageable) {
+        Pageable page = PageRequest.of(pageable.getPageNumber(), Math.min(pageable.getPageSize(), MAX_SEARCH_PAGE_SIZE));
+        return ResponseEntity.ok(PageableMapper.toDto(service.search(query, page)));
+    }
+
+    /**
+     * Sugere usuários cujo username começa com o prefixo informado, para o autocompletar de menções.
+     * Opcionalmente filtra pelo papel; a quantidade de sugestões é limitada.
+     */
+    @GetMapping(value = "/autocomplete", params = "prefix", produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<List<UserProjection>> autocomplete(@RequestParam("prefix") String prefix,
+                                                             @RequestParam(value = "role", required = false) User.Role role,
+                                                             @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_AUTOCOMPLETE_SIZE));
+        return ResponseEntity.ok(service.autocomplete(prefix, role, size));
+    }
+
+    /**
+     * Exporta todos os usuários em fluxo, no formato NDJSON (padrão) ou CSV.
+     * A resposta é escrita enquanto a tabela é lida, sem paginação e sem carregar o conjunto em memória.
+     */
+    @GetMapping(value = "/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(value = "format", defaultValue = "NDJSON") ExportFormat format) {
+        StreamingResponseBody body = out -> {
+            try (UserExportWriter writer = new UserExportWriter(format, out)) {
+                service.exportAll(writer);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users." + format.getExtension() + "\"")
+                .body(body);
+    }
+
+    /**
+     * Busca as primeiras páginas de usuários pelo cliente HTTP, em paralelo, e as devolve como uma única página.
+     * A resposta é assíncrona: a thread da requisição é liberada enquanto as páginas são buscadas.
+     */
+    @GetMapping(value = "/find-all-with-client", produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public CompletableFuture<ResponseEntity<PageableDto<UserSummary>>> findAllWithClient(
+            @RequestParam(value = "pages", defaultValue = "1") int pages,
+            @RequestParam(value = "size", defaultValue = "20") int size){
+        int pageCount = Math.max(1, Math.min(pages, MAX_CLIENT_PAGES));
+        int pageSize = Math.max(1, Math.min(size, MAX_SEARCH_PAGE_SIZE));
+        return service.findAllWithClient(pageCount, pageSize).thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Verifica se um username e/ou email ainda estão livres para cadastro.
+     */
+    @GetMapping(value = "check-availability", produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<UserAvailabilityDto> checkAvailability(@RequestParam(value = "username", required = false) String username,
+                                                                 @RequestParam(value = "email", required = false) String email) {
+        UserAvailabilityDto dto = new UserAvailabilityDto(
+                username != null ? service.isUsernameAvailable(username) : null,
+                email != null ? service.isEmailAvailable(email) : null);
+        return ResponseEntity.ok(dto);
     }
 
     /**
      * Busca um usuário pelo ID.
+     * Responde com ETag/Last-Modified; se o cliente enviar If-None-Match ou If-Modified-Since e o usuário
+     * não tiver mudado, retorna 304 comparando apenas a versão, sem carregar nem serializar o usuário.
      */
-    @GetMapping(value = "find-by-id", params = "id", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<UserResponseDto> findById(@RequestParam ("id") Long id){
+    @GetMapping(value = "find-by-id", params = "id", produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<UserResponseDto> findById(@RequestParam ("id") Long id, WebRequest request){
+        if (isConditional(request)) {
+            UserVersion version = service.findVersionById(id);
+            if (request.checkNotModified(eTag(version), lastModified(version))) {
+                return notModified();
+            }
+        }
         User user = service.findById(id);
-        return ResponseEntity.ok(UserMapper.toDto(user));
+        return withVersion(ResponseEntity.ok(), UserVersion.of(user)).body(UserMapper.toDto(user));
+    }
+
+    /**
+     * Busca vários usuários pelos IDs em uma única chamada.
+     * IDs repetidos são considerados uma vez; a resposta segue a ordem da requisição e marca os não encontrados.
+     */
+    @GetMapping(value = "find-by-ids", params = "ids", produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<List<UserLookupDto>> findByIds(@RequestParam("ids") List<Long> ids) {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        distinctIds.remove(null);
+        if (distinctIds.size() > MAX_BATCH_SIZE) {
+            throw new BatchLimitExceededException("A busca pode ter no máximo " + MAX_BATCH_SIZE + " ids.");
+        }
+
+        Map<Long, User> users = service.findAllByIds(distinctIds);
+        List<UserLookupDto> result = new ArrayList<>(distinctIds.size());
+        for (Long id : distinctIds) {
+            User user = users.get(id);
+            result.add(new UserLookupDto(id, user != null, user != null ? UserMapper.toDto(user) : null));
+        }
+        return ResponseEntity.ok(result);
     }
 
     /**
      * Busca um usuário pelo nome de usuário.
      */
-    @GetMapping(value = "find-by-username", params = "username", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<UserResponseDto> findByUsername(@RequestParam("username") String username) {
+    @GetMapping(value = "find-by-username", params = "username", produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<UserResponseDto> findByUsername(@RequestParam("username") String username, WebRequest request) {
+        if (isConditional(request)) {
+            UserVersion version = service.findVersionByUsername(username);
+            if (request.checkNotModified(eTag(version), lastModified(version))) {
+                return notModified();
+            }
+        }
         User user = service.findByUsername(username);
-        return ResponseEntity.ok(UserMapper.toDto(user));
+        return withVersion(ResponseEntity.ok(), UserVersion.of(user)).body(UserMapper.toDto(user));
     }
 
     /**
      * Busca um usuário pelo e-mail.
      */
-    @GetMapping(value = "find-by-email", params = "email", produces = MediaType.APPLICATION_JSON_VALUE)
+    @GetMapping(value = "find-by-email", params = "email", produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
     public ResponseEntity<UserResponseDto> findByEmail(@RequestParam("email") String email) {
         User user = service.findByEmail(email);
         return ResponseEntity.ok(UserMapper.toDto(user));
@@ -77,24 +277,95 @@ public class UserController {
 
     /**
      * Atualiza a senha de um usuário.
+     * Com o cabeçalho If-Match (ETag devolvida pelas buscas), a alteração só ocorre se o usuário ainda estiver nessa versão.
      */
     @PutMapping(value = "update-password", params = "id", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Void> updatePassword(@RequestParam ("id") Long id, @Valid @RequestBody UserUpdatePasswordDto dto){
-        service.updatePassword(id, dto.getCurrentPassword(), dto.getNewPassword(), dto.getConfirmationPassword());
+    public ResponseEntity<Void> updatePassword(@RequestParam ("id") Long id,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                               @Valid @RequestBody UserUpdatePasswordDto dto){
+        service.updatePassword(id, expectedVersion(id, ifMatch), dto.getCurrentPassword(), dto.getNewPassword(), dto.getConfirmationPassword());
         return ResponseEntity.ok().build();
     }
 
     /**
      * Atualiza um usuário no sistema.
+     * Com o cabeçalho If-Match (ETag devolvida pelas buscas), a alteração só ocorre se o usuário ainda estiver nessa versão.
      */
     @PutMapping(value = "update", params = "id", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<UserResponseDto> updateUser(@RequestParam("id") Long id, @Valid @RequestBody UserUpdateDto dto) {
+    public ResponseEntity<UserResponseDto> updateUser(@RequestParam("id") Long id,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                      @Valid @RequestBody UserUpdateDto dto) {
 
-        service.updateUser(id, UserMapper.updateToUser(dto));
+        service.updateUser(id, expectedVersion(id, ifMatch), UserMapper.updateToUser(dto));
 
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Atualiza parcialmente um usuário: apenas os campos enviados são alterados.
+     * Com o cabeçalho If-Match (ETag devolvida pelas buscas), a alteração só ocorre se o usuário ainda estiver nessa versão.
+     */
+    @PatchMapping(value = "update", params = "id", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Void> patchUser(@RequestParam("id") Long id,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                          @Valid @RequestBody UserPatchDto dto) {
+        service.patchUser(id, expectedVersion(id, ifMatch), UserMapper.patchToUser(dto));
+        return ResponseEntity.noContent().build();
+    }
+
+    private static boolean isConditional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    // O id faz parte da ETag porque find-by-username pode passar a apontar para outro usuário com a mesma versão.
+    // A ETag é fraca: a mesma versão é servida em JSON, Smile e CBOR, com bytes diferentes em cada formato
+    private static String eTag(UserVersion version) {
+        return "W/\"" + version.id() + "-" + version.version() + "\"";
+    }
+
+    /**
+     * Extrai a versão esperada do cabeçalho If-Match, no formato da {@link #eTag(UserVersion)}.
+     * Sem cabeçalho, ou com "*", a atualização não é condicionada à versão. O prefixo W/ é aceito, já que a ETag
+     * identifica a versão do usuário e não os bytes de um formato.
+     * Uma ETag de outro usuário ou fora do formato nunca corresponde à versão atual, por isso resulta em 412.
+     */
+    private static Long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        String prefix = "\"" + id + "-";
+        if (tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length() + 1) {
+            try {
+                return Long.parseLong(tag.substring(prefix.length(), tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // Tratada abaixo como ETag que não corresponde
+            }
+        }
+        throw new PreconditionFailedException("A ETag informada em If-Match não corresponde a este usuário");
+    }
+
+    private static long lastModified(UserVersion version) {
+        return version.updatedAt() != null ? version.updatedAt().toEpochMilli() : -1;
+    }
+
+    // O checkNotModified já escreveu a ETag e o Last-Modified na resposta; aqui só falta o Vary
+    private static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).varyBy(HttpHeaders.ACCEPT).build();
+    }
+
+    // A ETag (fraca) acompanha a versão do usuário, igual em todos os formatos; o Vary impede que um cache troque um formato pelo outro
+    private static ResponseEntity.BodyBuilder withVersion(ResponseEntity.BodyBuilder builder, UserVersion version) {
+        builder.eTag(eTag(version)).varyBy(HttpHeaders.ACCEPT);
+        if (version.updatedAt() != null) {
+            builder.lastModified(version.updatedAt());
+        }
+        return builder;
+    }
+
     /**
      * Deleta um usuário do sistema.
      */
@@ -103,4 +374,18 @@ public class UserController {
         service.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Exclui vários usuários pelos IDs em uma única requisição. IDs repetidos ou inexistentes são ignorados.
+     */
+    @PostMapping(value = "delete-batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<UserDeleteBatchResponseDto> deleteBatch(@RequestBody List<Long> ids) {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        distinctIds.remove(null);
+        if (distinctIds.size() > MAX_BATCH_SIZE) {
+            throw new BatchLimitExceededException("A exclusão pode ter no máximo " + MAX_BATCH_SIZE + " ids.");
+        }
+        int deleted = service.deleteAll(distinctIds);
+        return ResponseEntity.ok(new UserDeleteBatchResponseDto(distinctIds.size(), deleted));
+    }
 }
\ No newline at end of file
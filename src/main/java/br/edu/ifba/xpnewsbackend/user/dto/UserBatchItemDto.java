@@ -0,0 +1,24 @@
+package br.edu.ifba.xpnewsbackend.user.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserBatchItemDto {
+
+    private int index;
+    private Status status;
+    private UserResponseDto user;
+    private String message;
+
+    public enum Status {
+        CREATED, CONFLICT, INVALID
+    }
+}
@@ -0,0 +1,21 @@
+package br.edu.ifba.xpnewsbackend.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchResponseDto {
+
+    private int created;
+    private int failed;
+    private List<UserBatchItemDto> items = new ArrayList<>();
+
+}
@@ -0,0 +1,17 @@
+package br.edu.ifba.xpnewsbackend.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserDeleteBatchResponseDto {
+
+    private int requested;
+    private int deleted;
+
+}
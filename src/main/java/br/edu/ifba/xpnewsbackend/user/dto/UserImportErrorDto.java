@@ -0,0 +1,18 @@
+package br.edu.ifba.xpnewsbackend.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportErrorDto {
+
+    private long line;
+    private UserBatchItemDto.Status status;
+    private String message;
+
+}
@@ -0,0 +1,23 @@
+package br.edu.ifba.xpnewsbackend.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportReportDto {
+
+    private long processed;
+    private long created;
+    private long failed;
+    private List<UserImportErrorDto> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+
+}
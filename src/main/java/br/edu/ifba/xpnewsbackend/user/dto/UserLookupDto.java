@@ -0,0 +1,20 @@
+package br.edu.ifba.xpnewsbackend.user.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserLookupDto {
+
+    private Long id;
+    private boolean found;
+    private UserResponseDto user;
+
+}
@@ -0,0 +1,35 @@
+package br.edu.ifba.xpnewsbackend.user.dto;
+
+import br.edu.ifba.xpnewsbackend.user.entity.User;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+/**
+ * Atualização parcial de um usuário: apenas os campos informados (não nulos) são alterados.
+ * Um campo informado não pode ficar em branco, assim como no PUT ({@link UserUpdateDto}).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class UserPatchDto {
+
+    private static final String NOT_BLANK = "(?s).*\\S.*";
+
+    // Nulo ou com ao menos um caractere que não seja espaço
+    @Pattern(regexp = NOT_BLANK, message = "The full name must have between 1 and 50 characters.")
+    @Size(min = 1, max = 50, message = "The full name must have between 1 and 50 characters.")
+    private String fullName;
+    @Pattern(regexp = NOT_BLANK, message = "The username must have between 1 and 30 characters.")
+    @Size(min = 1, max = 30, message = "The username must have between 1 and 30 characters.")
+    private String username;
+    @Pattern(regexp = NOT_BLANK, message = "The email address cannot be empty.")
+    @Size(min = 1, message = "The email address cannot be empty.")
+    @Email(message = "Please provide a valid email address.")
+    private String email;
+    private User.Role role;
+
+}
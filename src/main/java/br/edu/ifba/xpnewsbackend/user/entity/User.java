@@ -3,10 +3,15 @@ package br.edu.ifba.xpnewsbackend.user.entity;
 import br.edu.ifba.xpnewsbackend.infrastructure.entity.PersistenceEntity;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
+
+// Ids da sequência tb_user_seq (ver PersistenceEntity), criada na migração V2__create_tb_user_seq
 @Entity
 @Table(name = "tb_user")
-@NoArgsConstructor @AllArgsConstructor
+@NoArgsConstructor
 @Getter @Setter
 public class User extends PersistenceEntity {
 
@@ -22,6 +27,22 @@ public class User extends PersistenceEntity {
     @Enumerated(value = EnumType.STRING)
     private Role role = Role.ROLE_CLIENT;
 
+    // Incrementada pelo Hibernate a cada atualização; usada como ETag nas leituras
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long version;
+    @UpdateTimestamp
+    private Instant updatedAt;
+
+    public User(String fullName, String username, String email, String password, Role role) {
+        this.fullName = fullName;
+        this.username = username;
+        this.email = email;
+        this.password = password;
+        this.role = role;
+    }
+
     public enum Role {
         ROLE_ADMIN, ROLE_CLIENT
     }
@@ -0,0 +1,38 @@
+package br.edu.ifba.xpnewsbackend.user.event;
+
+import br.edu.ifba.xpnewsbackend.user.entity.User;
+import br.edu.ifba.xpnewsbackend.user.repository.UserSummary;
+
+/**
+ * Publicado pelo UserService quando um usuário é criado, alterado ou excluído.
+ * Usado para manter sincronizadas as estruturas em memória derivadas da tabela de usuários.
+ * @param type Tipo da alteração.
+ * @param id ID do usuário.
+ * @param user Dados atuais do usuário; nulo quando ele foi excluído.
+ */
+public record UserChangedEvent(Type type, Long id, UserSummary user) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    public static UserChangedEvent created(User user) {
+        return new UserChangedEvent(Type.CREATED, user.getId(), toSummary(user));
+    }
+
+    public static UserChangedEvent updated(User user) {
+        return new UserChangedEvent(Type.UPDATED, user.getId(), toSummary(user));
+    }
+
+    public static UserChangedEvent updated(UserSummary user) {
+        return new UserChangedEvent(Type.UPDATED, user.getId(), user);
+    }
+
+    public static UserChangedEvent deleted(Long id) {
+        return new UserChangedEvent(Type.DELETED, id, null);
+    }
+
+    private static UserSummary toSummary(User user) {
+        return new UserSummary(user.getId(), user.getFullName(), user.getEmail(), user.getUsername(), user.getRole());
+    }
+}
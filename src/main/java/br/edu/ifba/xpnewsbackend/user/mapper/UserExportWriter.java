@@ -0,0 +1,112 @@
+package br.edu.ifba.xpnewsbackend.user.mapper;
+
+import br.edu.ifba.xpnewsbackend.infrastructure.dto.ExportFormat;
+import br.edu.ifba.xpnewsbackend.user.repository.UserProjection;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Escreve usuários, um por linha, direto no fluxo de saída em NDJSON ou CSV.
+ * Nada é acumulado além do buffer de escrita, então a memória usada não depende da quantidade de registros.
+ */
+public class UserExportWriter implements Consumer<UserProjection>, Closeable {
+
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder().build();
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER = "id,fullName,email,username,role";
+
+    private final ExportFormat format;
+    private final Writer writer;
+    private final JsonGenerator json;
+
+    public UserExportWriter(ExportFormat format, OutputStream out) throws IOException {
+        this.format = format;
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (format == ExportFormat.NDJSON) {
+            // Sem separador automático entre objetos: a quebra de linha é escrita após cada registro
+            this.json = JSON_FACTORY.createGenerator(writer)
+                    .setRootValueSeparator(null)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        } else {
+            this.json = null;
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+    }
+
+    @Override
+    public void accept(UserProjection user) {
+        try {
+            if (format == ExportFormat.NDJSON) {
+                writeJson(user);
+            } else {
+                writeCsv(user);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeJson(UserProjection user) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("id", user.getId());
+        json.writeStringField("fullName", user.getFullName());
+        json.writeStringField("email", user.getEmail());
+        json.writeStringField("username", user.getUsername());
+        json.writeStringField("role", user.getRole());
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private void writeCsv(UserProjection user) throws IOException {
+        writer.write(String.valueOf(user.getId()));
+        writer.write(',');
+        writeCsvField(user.getFullName());
+        writer.write(',');
+        writeCsvField(user.getEmail());
+        writer.write(',');
+        writeCsvField(user.getUsername());
+        writer.write(',');
+        writeCsvField(user.getRole());
+        writer.write('\n');
+    }
+
+    private void writeCsvField(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    /**
+     * Descarrega o que restou no buffer. O fluxo de saída não é fechado: ele pertence a quem o abriu.
+     */
+    @Override
+    public void close() throws IOException {
+        if (json != null) {
+            json.close();
+        }
+        writer.flush();
+    }
+}
@@ -0,0 +1,219 @@
+package br.edu.ifba.xpnewsbackend.user.mapper;
+
+import br.edu.ifba.xpnewsbackend.infrastructure.dto.ExportFormat;
+import br.edu.ifba.xpnewsbackend.infrastructure.exception.InvalidImportFileException;
+import br.edu.ifba.xpnewsbackend.user.dto.UserCreateDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Lê usuários de um arquivo NDJSON ou CSV, um registro por vez, sem carregar o arquivo em memória.
+ * Registros malformados ou longos demais não interrompem a leitura: são devolvidos com a mensagem de erro
+ * e a linha correspondente. Apenas problemas detectados antes do primeiro registro (cabeçalho do CSV) interrompem a importação.
+ */
+public class UserImportReader implements Closeable {
+
+    private static final ObjectReader JSON_READER = new ObjectMapper()
+            .readerFor(UserCreateDto.class)
+            .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Limita o tamanho de uma linha/campo para que um arquivo corrompido (ex.: aspas não fechadas) não esgote a memória
+    private static final int MAX_RECORD_LENGTH = 64 * 1024;
+    private static final String RECORD_TOO_LONG = "Registro muito longo: o limite é de " + MAX_RECORD_LENGTH + " caracteres";
+    private static final List<String> CSV_COLUMNS = List.of("fullname", "username", "email", "password");
+
+    /**
+     * Registro lido do arquivo: contém o DTO ou, quando não foi possível interpretá-lo, a mensagem de erro.
+     */
+    public record Row(long line, UserCreateDto user, String error) {
+    }
+
+    private final ExportFormat format;
+    private final Reader reader;
+    private final StringBuilder buffer = new StringBuilder();
+    private long line;
+    // Indica que o registro atual passou do limite; o restante da linha é descartado
+    private boolean overflow;
+    private int[] csvIndexes;
+    private int csvColumns;
+
+    public UserImportReader(ExportFormat format, InputStream in) throws IOException {
+        this.format = format;
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (format == ExportFormat.CSV) {
+            readCsvHeader();
+        }
+    }
+
+    /**
+     * Lê o próximo registro do arquivo, ignorando linhas em branco.
+     * @return Registro lido ou null quando o arquivo terminou.
+     */
+    public Row next() throws IOException {
+        return format == ExportFormat.NDJSON ? nextJson() : nextCsv();
+    }
+
+    private Row nextJson() throws IOException {
+        String text;
+        do {
+            text = readLine();
+            if (text == null) {
+                return null;
+            }
+        } while (text.isBlank());
+        if (overflow) {
+            return new Row(line, null, RECORD_TOO_LONG);
+        }
+        try {
+            UserCreateDto user = JSON_READER.readValue(text);
+            return user != null ? new Row(line, user, null) : new Row(line, null, "JSON inválido: registro nulo");
+        } catch (JsonProcessingException e) {
+            return new Row(line, null, "JSON inválido: " + e.getOriginalMessage());
+        }
+    }
+
+    private Row nextCsv() throws IOException {
+        List<String> fields;
+        long start;
+        do {
+            start = line + 1;
+            fields = readCsvRecord();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isBlank());
+        if (overflow) {
+            return new Row(start, null, RECORD_TOO_LONG);
+        }
+        if (fields.size() != csvColumns) {
+            return new Row(start, null, "Quantidade de colunas diferente do cabeçalho: esperado " + csvColumns + ", encontrado " + fields.size());
+        }
+        UserCreateDto user = new UserCreateDto(
+                fields.get(csvIndexes[0]),
+                fields.get(csvIndexes[1]),
+                fields.get(csvIndexes[2]),
+                fields.get(csvIndexes[3]));
+        return new Row(start, user, null);
+    }
+
+    private void readCsvHeader() throws IOException {
+        List<String> header = readCsvRecord();
+        if (header == null) {
+            throw new InvalidImportFileException("O arquivo CSV está vazio.");
+        }
+        if (overflow) {
+            throw new InvalidImportFileException("O cabeçalho do CSV é muito longo.");
+        }
+        if (!header.isEmpty() && header.get(0).startsWith("\uFEFF")) {
+            header.set(0, header.get(0).substring(1));
+        }
+        csvColumns = header.size();
+        csvIndexes = new int[CSV_COLUMNS.size()];
+        for (int i = 0; i < CSV_COLUMNS.size(); i++) {
+            csvIndexes[i] = indexOf(header, CSV_COLUMNS.get(i));
+            if (csvIndexes[i] < 0) {
+                throw new InvalidImportFileException("O cabeçalho do CSV deve conter as colunas: fullName, username, email, password.");
+            }
+        }
+    }
+
+    private static int indexOf(List<String> header, String column) {
+        for (int i = 0; i < header.size(); i++) {
+            if (header.get(i).trim().toLowerCase(Locale.ROOT).equals(column)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private String readLine() throws IOException {
+        buffer.setLength(0);
+        overflow = false;
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        line++;
+        while (c != -1 && c != '\n') {
+            if (c != '\r') {
+                append((char) c);
+            }
+            c = reader.read();
+        }
+        return buffer.toString();
+    }
+
+    /**
+     * Lê um registro CSV (RFC 4180): campos entre aspas podem conter vírgulas, quebras de linha e aspas duplicadas.
+     * Se o registro passar do limite, o restante da linha física é descartado e a leitura continua na linha seguinte.
+     */
+    private List<String> readCsvRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        line++;
+        List<String> fields = new ArrayList<>();
+        buffer.setLength(0);
+        overflow = false;
+        boolean quoted = false;
+        while (c != -1) {
+            if (overflow) {
+                while (c != -1 && c != '\n') {
+                    c = reader.read();
+                }
+                break;
+            }
+            if (quoted) {
+                if (c == '"') {
+                    c = reader.read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    line++;
+                }
+                append((char) c);
+            } else if (c == '"' && buffer.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(buffer.toString());
+                buffer.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(buffer.toString());
+        return fields;
+    }
+
+    private void append(char c) {
+        if (buffer.length() >= MAX_RECORD_LENGTH) {
+            overflow = true;
+        } else {
+            buffer.append(c);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
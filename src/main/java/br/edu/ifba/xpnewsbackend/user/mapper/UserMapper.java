@@ -1,24 +1,40 @@
 package br.edu.ifba.xpnewsbackend.user.mapper;
 
+import br.edu.ifba.xpnewsbackend.user.dto.UserBatchItemDto;
+import br.edu.ifba.xpnewsbackend.user.dto.UserBatchResponseDto;
 import br.edu.ifba.xpnewsbackend.user.dto.UserCreateDto;
+import br.edu.ifba.xpnewsbackend.user.dto.UserPatchDto;
 import br.edu.ifba.xpnewsbackend.user.dto.UserResponseDto;
 import br.edu.ifba.xpnewsbackend.user.dto.UserUpdateDto;
 import br.edu.ifba.xpnewsbackend.user.entity.User;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.PropertyMap;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
+/**
+ * Conversões entre a entidade User e seus DTOs.
+ * Os mapeamentos são escritos à mão: não há reflexão nem estado construído por chamada,
+ * apenas a cópia direta dos campos.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class UserMapper {
 
+    private static final int ROLE_PREFIX_LENGTH = "ROLE_".length();
+
     /**
      * Converte um DTO de criação de usuário para uma entidade User.
      * @param createDto Objeto DTO contendo os dados de criação do usuário.
      * @return Entidade User correspondente.
      */
     public static User toUser(UserCreateDto createDto) {
-        return new ModelMapper().map(createDto, User.class);
+        User user = new User();
+        user.setFullName(createDto.getFullName());
+        user.setUsername(createDto.getUsername());
+        user.setEmail(createDto.getEmail());
+        user.setPassword(createDto.getPassword());
+        return user;
     }
 
     /**
@@ -27,7 +43,41 @@ public class UserMapper {
      * @return Entidade User atualizada com os dados do DTO.
      */
     public static User updateToUser(UserUpdateDto updateDto) {
-        return new ModelMapper().map(updateDto, User.class);
+        User user = new User();
+        user.setFullName(updateDto.getFullName());
+        user.setUsername(updateDto.getUsername());
+        user.setEmail(updateDto.getEmail());
+        user.setRole(updateDto.getRole());
+        return user;
+    }
+
+    /**
+     * Converte um DTO de atualização parcial para uma entidade User com apenas os campos informados.
+     * O papel é copiado mesmo quando nulo, para não assumir o papel padrão da entidade.
+     * @param patchDto Objeto DTO contendo os campos a alterar.
+     * @return Entidade User cujos campos nulos indicam "não alterar".
+     */
+    public static User patchToUser(UserPatchDto patchDto) {
+        User user = new User();
+        user.setFullName(patchDto.getFullName());
+        user.setUsername(patchDto.getUsername());
+        user.setEmail(patchDto.getEmail());
+        user.setRole(patchDto.getRole());
+        return user;
+    }
+
+    /**
+     * Cria uma cópia desanexada da entidade, com todos os campos, inclusive id, versão e data de atualização.
+     * Usada onde a mesma instância seria compartilhada entre requisições (cache e buscas agrupadas).
+     * @param user Entidade User a ser copiada.
+     * @return Nova instância com os mesmos valores.
+     */
+    public static User copy(User user) {
+        User copy = new User(user.getFullName(), user.getUsername(), user.getEmail(), user.getPassword(), user.getRole());
+        copy.setId(user.getId());
+        copy.setVersion(user.getVersion());
+        copy.setUpdatedAt(user.getUpdatedAt());
+        return copy;
     }
 
     /**
@@ -36,21 +86,12 @@ public class UserMapper {
      * @return DTO de resposta contendo as informações do usuário formatadas.
      */
     public static UserResponseDto toDto(User user) {
-        // Remove o prefixo "ROLE_" do nome do papel do usuário
-        String role = user.getRole().name().substring("ROLE_".length());
-
-        // Mapeamento personalizado para garantir a conversão correta do papel do usuário
-        PropertyMap<User, UserResponseDto> props = new PropertyMap<User, UserResponseDto>() {
-            @Override
-            protected void configure() {
-                map().setRole(role);
-            }
-        };
-
-        ModelMapper mapper = new ModelMapper();
-        mapper.addMappings(props);
-
-        return mapper.map(user, UserResponseDto.class);
+        return new UserResponseDto(
+                user.getId(),
+                user.getFullName(),
+                user.getEmail(),
+                user.getUsername(),
+                toRoleName(user.getRole()));
     }
 
     /**
@@ -59,6 +100,34 @@ public class UserMapper {
      * @return Lista de DTOs de resposta.
      */
     public static List<UserResponseDto> toListDto(List<User> users) {
-        return users.stream().map(user -> toDto(user)).collect(Collectors.toList());
+        List<UserResponseDto> dtos = new ArrayList<>(users.size());
+        for (User user : users) {
+            dtos.add(toDto(user));
+        }
+        return dtos;
+    }
+
+    /**
+     * Monta a resposta de uma criação em lote, contabilizando os itens criados e os que falharam.
+     * @param items Resultado de cada item, na ordem da requisição.
+     * @return DTO de resposta do lote.
+     */
+    public static UserBatchResponseDto toBatchResponse(List<UserBatchItemDto> items) {
+        int created = 0;
+        for (UserBatchItemDto item : items) {
+            if (item.getStatus() == UserBatchItemDto.Status.CREATED) {
+                created++;
+            }
+        }
+        return new UserBatchResponseDto(created, items.size() - created, items);
+    }
+
+    /**
+     * Remove o prefixo "ROLE_" do nome do papel do usuário.
+     * @param role Papel do usuário.
+     * @return Nome do papel sem o prefixo.
+     */
+    public static String toRoleName(User.Role role) {
+        return role.name().substring(ROLE_PREFIX_LENGTH);
     }
 }
@@ -1,12 +1,23 @@
 package br.edu.ifba.xpnewsbackend.user.repository;
 
 import br.edu.ifba.xpnewsbackend.user.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
@@ -14,7 +25,105 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
-    @Query("select u from User u")
+    boolean existsByUsername(String username);
+
+    boolean existsByEmail(String email);
+
+    /**
+     * Consultas estreitas usadas nas leituras condicionais: trazem apenas id, versão e data de atualização.
+     */
+    @Query("select new br.edu.ifba.xpnewsbackend.user.repository.UserVersion(u.id, u.version, u.updatedAt) from User u where u.id = :id")
+    Optional<UserVersion> findVersionById(@Param("id") Long id);
+
+    @Query("select new br.edu.ifba.xpnewsbackend.user.repository.UserVersion(u.id, u.version, u.updatedAt) from User u where u.username = :username")
+    Optional<UserVersion> findVersionByUsername(@Param("username") String username);
+
+    @Query("select new br.edu.ifba.xpnewsbackend.user.repository.UserSummary(u.id, u.fullName, u.email, u.username, u.role) from User u where u.id = :id")
+    Optional<UserSummary> findSummaryById(@Param("id") Long id);
+
+    /**
+     * Atualização parcial em um único UPDATE, sem carregar a entidade: parâmetros nulos mantêm o valor atual da coluna.
+     * Incrementa a versão e a data de atualização, que não são tratadas automaticamente em atualizações em massa.
+     * Quando a versão esperada é informada, a linha só é alterada se ainda estiver nessa versão.
+     * @return Quantidade de linhas alteradas (0 quando o usuário não existe ou está em outra versão).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update User u set u.fullName = coalesce(:fullName, u.fullName), u.username = coalesce(:username, u.username), " +
+            "u.email = coalesce(:email, u.email), u.role = coalesce(:role, u.role), " +
+            "u.version = u.version + 1, u.updatedAt = :updatedAt " +
+            "where u.id = :id and (:version is null or u.version = :version)")
+    int patch(@Param("id") Long id, @Param("version") Long expectedVersion, @Param("fullName") String fullName,
+              @Param("username") String username, @Param("email") String email, @Param("role") User.Role role,
+              @Param("updatedAt") Instant updatedAt);
+
+    /**
+     * Exclui pelo id com um único DELETE, sem carregar a entidade.
+     * @return Quantidade de linhas excluídas (0 quando o usuário não existe).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from User u where u.id = :id")
+    int deleteRowById(@Param("id") Long id);
+
+    /**
+     * Exclui os ids informados com um único DELETE ... WHERE id IN, sem carregar as entidades.
+     * @return Quantidade de linhas excluídas.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from User u where u.id in :ids")
+    int deleteRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select u.id from User u where u.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select u.username from User u where u.username in :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query(value = "select new br.edu.ifba.xpnewsbackend.user.repository.UserSummary(u.id, u.fullName, u.email, u.username, u.role) from User u",
+            countQuery = "select count(u) from User u")
     Page<UserProjection> findAllPageable(Pageable pageable);
 
+    /**
+     * Mesma listagem de findAllPageable, mas sem a consulta de contagem:
+     * busca um registro a mais para saber se existe próxima página.
+     */
+    @Query("select new br.edu.ifba.xpnewsbackend.user.repository.UserSummary(u.id, u.fullName, u.email, u.username, u.role) from User u")
+    Slice<UserProjection> findAllSliced(Pageable pageable);
+
+    /**
+     * Busca por trecho de nome completo, username ou email. Usada apenas enquanto o índice de busca em memória
+     * não está disponível; o padrão já deve vir em minúsculas, com % e _ escapados por barra invertida.
+     */
+    @Query(value = "select new br.edu.ifba.xpnewsbackend.user.repository.UserSummary(u.id, u.fullName, u.email, u.username, u.role) from User u " +
+            "where lower(u.fullName) like :pattern escape '\\' or lower(u.username) like :pattern escape '\\' or lower(u.email) like :pattern escape '\\'",
+            countQuery = "select count(u) from User u " +
+            "where lower(u.fullName) like :pattern escape '\\' or lower(u.username) like :pattern escape '\\' or lower(u.email) like :pattern escape '\\'")
+    Page<UserProjection> searchByText(@Param("pattern") String pattern, Pageable pageable);
+
+    /**
+     * Usernames que começam com o prefixo, opcionalmente de um papel. Usada apenas enquanto o índice de autocompletar
+     * em memória não está disponível; o prefixo já deve vir em minúsculas, escapado e terminado em %.
+     */
+    @Query("select new br.edu.ifba.xpnewsbackend.user.repository.UserSummary(u.id, u.fullName, u.email, u.username, u.role) from User u " +
+            "where lower(u.username) like :prefix escape '\\' and (:role is null or u.role = :role) order by lower(u.username), u.username")
+    List<UserProjection> findByUsernamePrefix(@Param("prefix") String prefix, @Param("role") User.Role role, Limit limit);
+
+    /**
+     * Percorre todos os usuários com um cursor somente-leitura, buscando as linhas em blocos.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new br.edu.ifba.xpnewsbackend.user.repository.UserSummary(u.id, u.fullName, u.email, u.username, u.role) from User u")
+    Stream<UserProjection> streamAll();
+
+    /**
+     * Busca por chave (keyset): avança a partir do último id entregue usando o índice da chave primária,
+     * sem offset e sem consulta de contagem.
+     */
+    @Query("select new br.edu.ifba.xpnewsbackend.user.repository.UserSummary(u.id, u.fullName, u.email, u.username, u.role) " +
+            "from User u where u.id > :afterId order by u.id")
+    List<UserProjection> findAllAfter(@Param("afterId") Long afterId, Limit limit);
+
 }
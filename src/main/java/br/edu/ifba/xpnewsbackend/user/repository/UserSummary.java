@@ -0,0 +1,28 @@
+package br.edu.ifba.xpnewsbackend.user.repository;
+
+import br.edu.ifba.xpnewsbackend.user.entity.User;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Implementação concreta de UserProjection, preenchida por expressão de construtor na consulta JPQL.
+ * Evita os proxies dinâmicos das projeções por interface na leitura e na serialização.
+ */
+@Getter
+@AllArgsConstructor(onConstructor_ = @JsonCreator)
+public final class UserSummary implements UserProjection {
+
+    private final Long id;
+    private final String fullName;
+    private final String email;
+    private final String username;
+    private final String role;
+
+    /**
+     * Construtor usado pelas consultas JPQL, que entregam o papel como enum.
+     */
+    public UserSummary(Long id, String fullName, String email, String username, User.Role role) {
+        this(id, fullName, email, username, role.name());
+    }
+}
@@ -0,0 +1,15 @@
+package br.edu.ifba.xpnewsbackend.user.repository;
+
+import br.edu.ifba.xpnewsbackend.user.entity.User;
+
+import java.time.Instant;
+
+/**
+ * Dados mínimos para validar uma leitura condicional (ETag/Last-Modified) sem carregar o usuário inteiro.
+ */
+public record UserVersion(Long id, long version, Instant updatedAt) {
+
+    public static UserVersion of(User user) {
+        return new UserVersion(user.getId(), user.getVersion(), user.getUpdatedAt());
+    }
+}
@@ -0,0 +1,209 @@
+package br.edu.ifba.xpnewsbackend.user.service;
+
+import br.edu.ifba.xpnewsbackend.infrastructure.filter.BloomFilter;
+import br.edu.ifba.xpnewsbackend.user.event.UserChangedEvent;
+import br.edu.ifba.xpnewsbackend.user.repository.UserProjection;
+import br.edu.ifba.xpnewsbackend.user.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Filtro de Bloom sobre os usernames e emails cadastrados.
+ * Uma resposta negativa garante que o valor está livre, dispensando a consulta ao banco;
+ * apenas os possíveis acertos precisam ser confirmados no banco.
+ * O filtro é construído após a inicialização, fora da thread principal, lendo a tabela de usuários, e recebe os novos
+ * valores a cada criação/alteração confirmada; as que chegam durante uma reconstrução são guardadas e reaplicadas no
+ * filtro novo antes da troca.
+ * Como valores removidos não saem do filtro, ele é reconstruído quando as exclusões/alterações passam de uma fração do
+ * total, e também quando os valores inseridos passam da capacidade com que foi dimensionado, já que a partir daí a taxa
+ * de falsos positivos sobe.
+ */
+@Component
+@Slf4j
+public class UserAvailabilityFilter {
+
+    private static final long MINIMUM_CAPACITY = 100_000;
+    private static final double STALE_RATIO_FOR_REBUILD = 0.2;
+    // Cada usuário ocupa duas chaves no filtro: username e email
+    private static final long KEYS_PER_USER = 2;
+
+    private final UserRepository repository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final double falsePositiveRate;
+    private final Executor executor;
+
+    private final Lock lock = new ReentrantLock();
+    private volatile BloomFilter current;
+    private volatile long capacity;
+    private List<UserChangedEvent> pending;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final AtomicLong inserted = new AtomicLong();
+    private final AtomicLong stale = new AtomicLong();
+
+    public UserAvailabilityFilter(UserRepository repository, TransactionTemplate transactionTemplate,
+                                  @Value("${xp-news.users.availability-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                                  @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor executor) {
+        this.repository = repository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.falsePositiveRate = falsePositiveRate;
+        this.executor = executor;
+    }
+
+    /**
+     * Indica se o username pode estar em uso. Enquanto o filtro não foi construído, responde sempre que sim.
+     */
+    public boolean mightContainUsername(String username) {
+        BloomFilter filter = current;
+        return filter == null || filter.mightContain(usernameKey(username));
+    }
+
+    /**
+     * Indica se o email pode estar em uso. Enquanto o filtro não foi construído, responde sempre que sim.
+     */
+    public boolean mightContainEmail(String email) {
+        BloomFilter filter = current;
+        return filter == null || filter.mightContain(emailKey(email));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        executor.execute(this::rebuild);
+    }
+
+    /**
+     * Constrói um filtro novo a partir da tabela de usuários e o coloca no lugar do atual.
+     * Não faz nada se já houver uma reconstrução em andamento.
+     */
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            // Passa a guardar as alterações antes de contar e ler a tabela: um cadastro confirmado depois deste
+            // ponto pode não aparecer na leitura, mas é reaplicado no filtro novo antes da troca
+            lock.lock();
+            try {
+                pending = new ArrayList<>();
+            } finally {
+                lock.unlock();
+            }
+            long users = repository.count();
+            long nextCapacity = Math.max(MINIMUM_CAPACITY, users * 3);
+            BloomFilter next = new BloomFilter(nextCapacity, falsePositiveRate);
+            long loaded = readOnlyTransaction.execute(status -> {
+                long count = 0;
+                try (Stream<UserProjection> stream = repository.streamAll()) {
+                    for (UserProjection user : (Iterable<UserProjection>) stream::iterator) {
+                        add(next, user.getUsername(), user.getEmail());
+                        count++;
+                    }
+                }
+                return count;
+            });
+            lock.lock();
+            try {
+                long replayedStale = 0;
+                for (UserChangedEvent event : pending) {
+                    if (event.type() != UserChangedEvent.Type.CREATED) {
+                        replayedStale++;
+                    }
+                    if (event.type() != UserChangedEvent.Type.DELETED) {
+                        add(next, event.user().getUsername(), event.user().getEmail());
+                        loaded++;
+                    }
+                }
+                current = next;
+                capacity = nextCapacity;
+                inserted.set(loaded);
+                stale.set(replayedStale);
+            } finally {
+                lock.unlock();
+            }
+            log.info("Filtro de disponibilidade de username/email construído com {} usuários", loaded);
+        } catch (DataAccessException e) {
+            log.warn("Não foi possível construir o filtro de disponibilidade; as verificações irão ao banco: {}", e.getMessage());
+        } finally {
+            lock.lock();
+            try {
+                pending = null;
+            } finally {
+                lock.unlock();
+            }
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * Reconstrói o filtro se os valores antigos passaram da fração tolerada ou se ele recebeu mais valores
+     * do que a capacidade com que foi construído.
+     */
+    @Scheduled(fixedDelayString = "${xp-news.users.availability-filter.check-interval:PT1M}")
+    public void rebuildIfStale() {
+        if (current == null) {
+            return;
+        }
+        long users = inserted.get();
+        if (stale.get() > users * STALE_RATIO_FOR_REBUILD || users * KEYS_PER_USER > capacity) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Aplica a alteração somente após o commit: só assim uma reconstrução em andamento tem a garantia de ver
+     * o usuário na leitura da tabela ou de recebê-lo entre as alterações pendentes.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        lock.lock();
+        try {
+            if (pending != null) {
+                pending.add(event);
+            }
+            if (current == null) {
+                return;
+            }
+            if (event.type() != UserChangedEvent.Type.CREATED) {
+                // Exclusões e alterações (que podem trocar username/email) deixam valores antigos no filtro
+                stale.incrementAndGet();
+            }
+            if (event.type() != UserChangedEvent.Type.DELETED) {
+                add(current, event.user().getUsername(), event.user().getEmail());
+                inserted.incrementAndGet();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void add(BloomFilter filter, String username, String email) {
+        filter.put(usernameKey(username));
+        filter.put(emailKey(email));
+    }
+
+    private static String usernameKey(String username) {
+        return "u:" + username;
+    }
+
+    private static String emailKey(String email) {
+        return "e:" + email;
+    }
+}
@@ -0,0 +1,115 @@
+package br.edu.ifba.xpnewsbackend.user.service;
+
+import br.edu.ifba.xpnewsbackend.user.entity.User;
+import br.edu.ifba.xpnewsbackend.user.mapper.UserMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache em memória dos usuários, limitado por tamanho e por tempo de vida.
+ * A entrada principal é indexada pelo id; username e email apontam para o id.
+ * Os índices secundários só são usados quando a entrada do id está no cache e ainda tem o mesmo username/email,
+ * de forma que um índice antigo (após uma troca de username, por exemplo) nunca devolve um usuário desatualizado.
+ * Leituras do banco que começaram antes de uma remoção não são gravadas no cache (ver {@link #stamp()}).
+ * O cache guarda cópias próprias das entidades e devolve uma cópia nova a cada leitura, de modo que alterações
+ * feitas por quem recebeu o usuário não chegam às demais requisições.
+ */
+@Component
+@Slf4j
+public class UserCache {
+
+    private final Cache<Long, User> byId;
+    private final Cache<String, Long> idByUsername;
+    private final Cache<String, Long> idByEmail;
+    private final AtomicLong evictions = new AtomicLong();
+
+    public UserCache(MeterRegistry registry,
+                     @Value("${xp-news.users.cache.maximum-size:10000}") long maximumSize,
+                     @Value("${xp-news.users.cache.ttl:PT5M}") Duration ttl) {
+        this.byId = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).recordStats().build();
+        this.idByUsername = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).build();
+        this.idByEmail = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).build();
+        CaffeineCacheMetrics.monitor(registry, byId, "users");
+    }
+
+    public User getById(Long id) {
+        User user = byId.getIfPresent(id);
+        return user != null ? UserMapper.copy(user) : null;
+    }
+
+    public User getByUsername(String username) {
+        Long id = idByUsername.getIfPresent(username);
+        User user = id != null ? byId.getIfPresent(id) : null;
+        return user != null && username.equals(user.getUsername()) ? UserMapper.copy(user) : null;
+    }
+
+    public User getByEmail(String email) {
+        Long id = idByEmail.getIfPresent(email);
+        User user = id != null ? byId.getIfPresent(id) : null;
+        return user != null && email.equals(user.getEmail()) ? UserMapper.copy(user) : null;
+    }
+
+    /**
+     * Marca o início de uma leitura no banco. Deve ser obtido antes da consulta e repassado ao {@link #put}.
+     * @return Contador de remoções no momento da leitura.
+     */
+    public long stamp() {
+        return evictions.get();
+    }
+
+    /**
+     * Guarda o usuário lido do banco, a menos que alguma remoção tenha ocorrido desde o {@code stamp} informado,
+     * caso em que o valor lido pode ser anterior à alteração.
+     * Uma remoção que aconteça durante a gravação é detectada na conferência feita depois dela, e a entrada é
+     * descartada.
+     */
+    public void put(User user, long stamp) {
+        if (evictions.get() != stamp) {
+            return;
+        }
+        byId.put(user.getId(), UserMapper.copy(user));
+        idByUsername.put(user.getUsername(), user.getId());
+        idByEmail.put(user.getEmail(), user.getId());
+        if (evictions.get() != stamp) {
+            byId.invalidate(user.getId());
+        }
+    }
+
+    /**
+     * Remove o usuário do cache imediatamente e, se houver transação ativa, de novo após o término dela.
+     * A segunda remoção descarta o que outra requisição tenha lido do banco antes do commit.
+     * @param id ID do usuário alterado ou excluído.
+     */
+    public void evict(Long id) {
+        invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(id);
+                }
+            });
+        }
+    }
+
+    private void invalidate(Long id) {
+        evictions.incrementAndGet();
+        User user = byId.getIfPresent(id);
+        byId.invalidate(id);
+        if (user != null) {
+            idByUsername.invalidate(user.getUsername());
+            idByEmail.invalidate(user.getEmail());
+        }
+        log.debug("Usuário com ID {} removido do cache", id);
+    }
+}
@@ -0,0 +1,79 @@
+package br.edu.ifba.xpnewsbackend.user.service;
+
+import br.edu.ifba.xpnewsbackend.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mantém em memória o total aproximado de usuários, evitando um count(*) em cada listagem.
+ * O valor é ajustado a cada criação/exclusão confirmada e recalculado periodicamente para corrigir desvios.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserCountCache {
+
+    private static final long NOT_LOADED = -1L;
+
+    private final UserRepository repository;
+    private final AtomicLong total = new AtomicLong(NOT_LOADED);
+
+    /**
+     * Retorna o total em cache, carregando-o do banco na primeira chamada.
+     * @return Total aproximado de usuários.
+     */
+    public long get() {
+        long current = total.get();
+        return current == NOT_LOADED ? refresh() : current;
+    }
+
+    /**
+     * Recalcula o total a partir do banco de dados.
+     * @return Total atualizado de usuários.
+     */
+    public long refresh() {
+        long count = repository.count();
+        total.set(count);
+        log.debug("Total de usuários em cache atualizado para: {}", count);
+        return count;
+    }
+
+    @Scheduled(fixedDelayString = "${xp-news.users.count-cache.refresh-interval:PT30S}",
+            initialDelayString = "${xp-news.users.count-cache.refresh-interval:PT30S}")
+    void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (DataAccessException e) {
+            log.warn("Não foi possível atualizar o total de usuários em cache: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Ajusta o total após o commit da transação atual, ou imediatamente se não houver transação ativa.
+     * Assim uma criação/exclusão desfeita (por exemplo, por uma violação de integridade no commit) não altera o total.
+     * @param delta Quantidade de usuários criados (positivo) ou excluídos (negativo).
+     */
+    public void increment(long delta) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(delta);
+                }
+            });
+        } else {
+            add(delta);
+        }
+    }
+
+    private void add(long delta) {
+        total.updateAndGet(current -> current == NOT_LOADED ? NOT_LOADED : Math.max(0, current + delta));
+    }
+}
@@ -1,22 +1,46 @@
 package br.edu.ifba.xpnewsbackend.user.service;
 
 import br.edu.ifba.xpnewsbackend.infrastructure.dto.PageableDto;
+import br.edu.ifba.xpnewsbackend.user.dto.UserBatchItemDto;
 import br.edu.ifba.xpnewsbackend.user.dto.UserResponseDto;
 import br.edu.ifba.xpnewsbackend.user.entity.User;
 import br.edu.ifba.xpnewsbackend.user.repository.UserProjection;
+import br.edu.ifba.xpnewsbackend.user.repository.UserSummary;
+import br.edu.ifba.xpnewsbackend.user.repository.UserVersion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface UserIService {
 
     User create(User user);
+    List<UserBatchItemDto> createAll(List<User> users);
     Page<UserProjection> findAll(Pageable pageable);
+    Slice<UserProjection> findAllSlice(Pageable pageable);
+    Page<UserProjection> findAllWithCachedCount(Pageable pageable);
+    List<UserProjection> findAllAfter(Long afterId, int limit);
+    Page<UserProjection> search(String query, Pageable pageable);
+    List<UserProjection> autocomplete(String prefix, User.Role role, int limit);
+    long exportAll(Consumer<UserProjection> action);
+    boolean isUsernameAvailable(String username);
+    boolean isEmailAvailable(String email);
     User findById(Long id);
+    UserVersion findVersionById(Long id);
+    Map<Long, User> findAllByIds(Collection<Long> ids);
     User findByUsername(String username);
+    UserVersion findVersionByUsername(String username);
     User findByEmail(String email);
-    void updatePassword(Long id, String currentPassword, String newPassword, String confirmationPassword);
-    void updateUser(Long id, User newData);
+    void updatePassword(Long id, Long expectedVersion, String currentPassword, String newPassword, String confirmationPassword);
+    void updateUser(Long id, Long expectedVersion, User newData);
+    void patchUser(Long id, Long expectedVersion, User changes);
     void delete(Long id);
-    PageableDto findAllWithClient();
+    int deleteAll(Collection<Long> ids);
+    CompletableFuture<PageableDto<UserSummary>> findAllWithClient(int pages, int size);
 
 }
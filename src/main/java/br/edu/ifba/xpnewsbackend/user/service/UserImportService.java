@@ -0,0 +1,96 @@
+package br.edu.ifba.xpnewsbackend.user.service;
+
+import br.edu.ifba.xpnewsbackend.infrastructure.dto.ExportFormat;
+import br.edu.ifba.xpnewsbackend.user.dto.UserBatchItemDto;
+import br.edu.ifba.xpnewsbackend.user.dto.UserImportErrorDto;
+import br.edu.ifba.xpnewsbackend.user.dto.UserImportReportDto;
+import br.edu.ifba.xpnewsbackend.user.entity.User;
+import br.edu.ifba.xpnewsbackend.user.mapper.UserImportReader;
+import br.edu.ifba.xpnewsbackend.user.mapper.UserMapper;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Importa usuários de um arquivo NDJSON ou CSV lido em fluxo.
+ * Os registros válidos são gravados em blocos de tamanho fixo pela criação em lote do UserService,
+ * que confirma cada bloco em sua própria transação; assim a memória usada não depende do tamanho do arquivo.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserImportService {
+
+    private static final int IMPORT_CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final UserIService userService;
+    private final Validator validator;
+
+    /**
+     * Lê o arquivo registro a registro, valida cada usuário com as mesmas regras de UserCreateDto e grava os válidos.
+     * Registros inválidos ou em conflito são contabilizados; apenas os primeiros erros são detalhados no relatório.
+     * @param format Formato do arquivo.
+     * @param in Conteúdo do arquivo.
+     * @return Relatório com os totais e os erros por linha.
+     */
+    public UserImportReportDto importUsers(ExportFormat format, InputStream in) throws IOException {
+        log.info("Iniciando importação de usuários no formato {}", format);
+        UserImportReportDto report = new UserImportReportDto();
+        List<User> users = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        List<Long> lines = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        try (UserImportReader reader = new UserImportReader(format, in)) {
+            for (UserImportReader.Row row = reader.next(); row != null; row = reader.next()) {
+                report.setProcessed(report.getProcessed() + 1);
+                String error = row.error() != null ? row.error() : UserValidation.validate(validator, row.user());
+                if (error != null) {
+                    fail(report, row.line(), UserBatchItemDto.Status.INVALID, error);
+                    continue;
+                }
+                users.add(UserMapper.toUser(row.user()));
+                lines.add(row.line());
+                if (users.size() == IMPORT_CHUNK_SIZE) {
+                    flush(users, lines, report);
+                    log.info("Importação em andamento: {} registros processados, {} usuários criados",
+                            report.getProcessed(), report.getCreated());
+                }
+            }
+        }
+        flush(users, lines, report);
+        log.info("Importação concluída: {} registros processados, {} usuários criados, {} falhas",
+                report.getProcessed(), report.getCreated(), report.getFailed());
+        return report;
+    }
+
+    private void flush(List<User> users, List<Long> lines, UserImportReportDto report) {
+        if (users.isEmpty()) {
+            return;
+        }
+        List<UserBatchItemDto> results = userService.createAll(users);
+        for (int i = 0; i < results.size(); i++) {
+            UserBatchItemDto result = results.get(i);
+            if (result.getStatus() == UserBatchItemDto.Status.CREATED) {
+                report.setCreated(report.getCreated() + 1);
+            } else {
+                fail(report, lines.get(i), result.getStatus(), result.getMessage());
+            }
+        }
+        users.clear();
+        lines.clear();
+    }
+
+    private static void fail(UserImportReportDto report, long line, UserBatchItemDto.Status status, String message) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+            report.getErrors().add(new UserImportErrorDto(line, status, message));
+        } else {
+            report.setErrorsTruncated(true);
+        }
+    }
+}
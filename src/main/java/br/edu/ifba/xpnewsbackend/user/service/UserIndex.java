@@ -0,0 +1,146 @@
+package br.edu.ifba.xpnewsbackend.user.service;
+
+import br.edu.ifba.xpnewsbackend.user.event.UserChangedEvent;
+import br.edu.ifba.xpnewsbackend.user.repository.UserProjection;
+import br.edu.ifba.xpnewsbackend.user.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Base dos índices em memória derivados da tabela de usuários (busca por texto, autocompletar de usernames).
+ * O índice é construído lendo a tabela fora da thread de inicialização, para não atrasar a aplicação ficar pronta,
+ * e atualizado a cada alteração confirmada no banco. Alterações que chegam durante uma reconstrução são guardadas
+ * e reaplicadas no índice novo antes da troca. Enquanto não há índice, quem consulta deve recorrer ao banco.
+ * @param <S> Estrutura mantida pelo índice.
+ */
+@Slf4j
+public abstract class UserIndex<S> {
+
+    private final UserRepository repository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Executor executor;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private S index;
+    private List<UserChangedEvent> pending;
+
+    /**
+     * @param executor Executor da construção inicial.
+     */
+    protected UserIndex(UserRepository repository, TransactionTemplate transactionTemplate, Executor executor) {
+        this.repository = repository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.executor = executor;
+    }
+
+    /**
+     * Indica se o índice já foi construído e pode responder às consultas.
+     */
+    public boolean isReady() {
+        return read(index -> index != null);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        executor.execute(this::rebuild);
+    }
+
+    /**
+     * Constrói um índice novo a partir da tabela de usuários e o coloca no lugar do atual.
+     * Não faz nada se já houver uma reconstrução em andamento.
+     */
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            lock.writeLock().lock();
+            try {
+                pending = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            S next = readOnlyTransaction.execute(status -> {
+                try (Stream<UserProjection> stream = repository.streamAll()) {
+                    return build(stream);
+                }
+            });
+            lock.writeLock().lock();
+            try {
+                pending.forEach(event -> apply(next, event));
+                index = next;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Construção do {} concluída com {} usuários", description(), size(next));
+        } catch (DataAccessException e) {
+            log.warn("Não foi possível construir o {}; as consultas irão ao banco: {}", description(), e.getMessage());
+        } finally {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * Aplica a alteração somente após o commit, para que um cadastro desfeito não apareça nas consultas.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (index != null) {
+                apply(index, event);
+            }
+            if (pending != null) {
+                pending.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Consulta o índice atual sob a trava de leitura.
+     * @param reader Consulta; recebe nulo enquanto o índice não foi construído.
+     */
+    protected <R> R read(Function<S, R> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.apply(index);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Constrói o índice com os usuários lidos da tabela. */
+    protected abstract S build(Stream<UserProjection> users);
+
+    /** Aplica uma alteração de usuário ao índice. */
+    protected abstract void apply(S index, UserChangedEvent event);
+
+    /** Quantidade de usuários no índice, para o log. */
+    protected abstract int size(S index);
+
+    /** Nome do índice nos logs, em minúsculas (ex.: "índice de busca de usuários"). */
+    protected abstract String description();
+}
@@ -0,0 +1,102 @@
+package br.edu.ifba.xpnewsbackend.user.service;
+
+import br.edu.ifba.xpnewsbackend.user.entity.User;
+import br.edu.ifba.xpnewsbackend.user.mapper.UserMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa buscas simultâneas pelo mesmo usuário em uma única consulta ao banco (single-flight).
+ * A primeira requisição para uma chave executa a consulta; as que chegam enquanto ela está em andamento
+ * esperam e recebem uma cópia do mesmo resultado, ou a mesma exceção. Terminada a consulta, a chave é liberada.
+ * Uma requisição só aproveita a consulta em andamento se ela começou depois da última alteração de usuário que a
+ * requisição já enxerga (marcador de {@link UserCache#stamp()}); caso contrário faz a própria consulta, para não
+ * receber um valor anterior à alteração.
+ * As métricas users.lookups (tags type e outcome=query|coalesced) mostram a proporção de buscas agrupadas.
+ */
+@Component
+public class UserLookupCoalescer {
+
+    public enum Lookup { ID, USERNAME, EMAIL }
+
+    private record Key(Lookup lookup, Object value) {}
+
+    private record Flight(long stamp, CompletableFuture<User> result) {}
+
+    private final Map<Key, Flight> inFlight = new ConcurrentHashMap<>();
+    private final Map<Lookup, Counter> queries = new EnumMap<>(Lookup.class);
+    private final Map<Lookup, Counter> coalesced = new EnumMap<>(Lookup.class);
+
+    public UserLookupCoalescer(MeterRegistry registry) {
+        for (Lookup lookup : Lookup.values()) {
+            String type = lookup.name().toLowerCase(Locale.ROOT);
+            queries.put(lookup, Counter.builder("users.lookups").tag("type", type).tag("outcome", "query")
+                    .description("Buscas de usuário que consultaram o banco").register(registry));
+            coalesced.put(lookup, Counter.builder("users.lookups").tag("type", type).tag("outcome", "coalesced")
+                    .description("Buscas de usuário atendidas por uma consulta já em andamento").register(registry));
+        }
+        Gauge.builder("users.lookups.in-flight", inFlight, Map::size)
+                .description("Consultas de usuário em andamento")
+                .register(registry);
+    }
+
+    /**
+     * Executa a consulta, ou aguarda a que já está em andamento para a mesma chave.
+     * @param lookup Tipo da busca (id, username ou email).
+     * @param value Valor buscado.
+     * @param stamp Marcador do cache obtido antes da busca.
+     * @param loader Consulta ao banco; só é chamada se não houver outra em andamento.
+     * @return Usuário encontrado.
+     */
+    public User load(Lookup lookup, Object value, long stamp, Supplier<User> loader) {
+        Key key = new Key(lookup, value);
+        Flight flight = new Flight(stamp, new CompletableFuture<>());
+        Flight current = inFlight.putIfAbsent(key, flight);
+        if (current != null) {
+            if (current.stamp() >= stamp) {
+                coalesced.get(lookup).increment();
+                return await(current.result());
+            }
+            // Consulta iniciada antes de uma alteração: não é compartilhada nem substituída
+            queries.get(lookup).increment();
+            return loader.get();
+        }
+        queries.get(lookup).increment();
+        try {
+            User user = loader.get();
+            flight.result().complete(user);
+            return user;
+        } catch (RuntimeException | Error e) {
+            flight.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private static User await(CompletableFuture<User> result) {
+        try {
+            // Cada requisição recebe a própria instância, já que a entidade é mutável
+            return UserMapper.copy(result.join());
+        } catch (CompletionException e) {
+            // Repassa a exceção original (por exemplo ResourceNotFoundException) a quem aguardava
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package br.edu.ifba.xpnewsbackend.user.service;
+
+import br.edu.ifba.xpnewsbackend.infrastructure.search.TrigramIndex;
+import br.edu.ifba.xpnewsbackend.user.event.UserChangedEvent;
+import br.edu.ifba.xpnewsbackend.user.repository.UserProjection;
+import br.edu.ifba.xpnewsbackend.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+
+/**
+ * Índice de busca por texto sobre nome completo, username e email dos usuários.
+ * Versões antigas e removidas continuam ocupando espaço no índice, que é reconstruído quando elas passam de uma fração do total.
+ */
+@Component
+public class UserSearchIndex extends UserIndex<TrigramIndex<UserProjection>> {
+
+    private static final double REMOVED_RATIO_FOR_REBUILD = 0.2;
+
+    public UserSearchIndex(UserRepository repository, TransactionTemplate transactionTemplate,
+                           @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor executor) {
+        super(repository, transactionTemplate, executor);
+    }
+
+    /**
+     * Busca usuários pelo texto informado, em ordem de relevância.
+     * @param query Texto buscado; a última palavra é tratada como prefixo.
+     * @param pageable Página desejada.
+     * @return Página de usuários encontrados, com o total de resultados.
+     */
+    public Page<UserProjection> search(String query, Pageable pageable) {
+        return read(index -> {
+            TrigramIndex.Result<UserProjection> result = index.search(query, (int) pageable.getOffset(), pageable.getPageSize());
+            return new PageImpl<>(result.content(), pageable, result.total());
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${xp-news.users.search-index.check-interval:PT1M}")
+    void rebuildIfStale() {
+        boolean stale = read(index -> index != null && index.removedCount() > index.size() * REMOVED_RATIO_FOR_REBUILD);
+        if (stale) {
+            rebuild();
+        }
+    }
+
+    @Override
+    protected TrigramIndex<UserProjection> build(Stream<UserProjection> users) {
+        TrigramIndex<UserProjection> index = new TrigramIndex<>();
+        users.forEach(user -> put(index, user));
+        return index;
+    }
+
+    @Override
+    protected void apply(TrigramIndex<UserProjection> index, UserChangedEvent event) {
+        if (event.type() == UserChangedEvent.Type.DELETED) {
+            index.remove(event.id());
+        } else {
+            put(index, event.user());
+        }
+    }
+
+    @Override
+    protected int size(TrigramIndex<UserProjection> index) {
+        return index.size();
+    }
+
+    @Override
+    protected String description() {
+        return "índice de busca de usuários";
+    }
+
+    private static void put(TrigramIndex<UserProjection> index, UserProjection user) {
+        index.put(user.getId(), user, user.getFullName(), user.getUsername(), user.getEmail());
+    }
+}
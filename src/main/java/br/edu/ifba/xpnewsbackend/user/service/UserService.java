@@ -2,47 +2,210 @@ package br.edu.ifba.xpnewsbackend.user.service;
 
 import br.edu.ifba.xpnewsbackend.infrastructure.exception.DatabaseException;
 import br.edu.ifba.xpnewsbackend.infrastructure.exception.PasswordInvalidException;
+import br.edu.ifba.xpnewsbackend.infrastructure.exception.PreconditionFailedException;
 import br.edu.ifba.xpnewsbackend.infrastructure.exception.ResourceNotFoundException;
 import br.edu.ifba.xpnewsbackend.infrastructure.exception.UniqueViolationException;
 import br.edu.ifba.xpnewsbackend.infrastructure.clients.UserClient;
 import br.edu.ifba.xpnewsbackend.infrastructure.dto.PageableDto;
+import br.edu.ifba.xpnewsbackend.infrastructure.security.PasswordHasher;
+import br.edu.ifba.xpnewsbackend.user.dto.UserBatchItemDto;
 import br.edu.ifba.xpnewsbackend.user.entity.User;
+import br.edu.ifba.xpnewsbackend.user.event.UserChangedEvent;
+import br.edu.ifba.xpnewsbackend.user.mapper.UserMapper;
 import br.edu.ifba.xpnewsbackend.user.repository.UserProjection;
 import br.edu.ifba.xpnewsbackend.user.repository.UserRepository;
+import br.edu.ifba.xpnewsbackend.user.repository.UserSummary;
+import br.edu.ifba.xpnewsbackend.user.repository.UserVersion;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class UserService implements UserIService{
 
+    // Mesmo valor de hibernate.jdbc.batch_size e do allocationSize da sequência de ids
+    private static final int BATCH_CHUNK_SIZE = 50;
+    private static final int LOOKUP_CHUNK_SIZE = 500;
+    private static final int MIN_SEARCH_LENGTH = 2;
+    private static final String UNIQUE_VIOLATION_MESSAGE = "Já tem um usuário registrado com esse username ou email";
+
     private final UserRepository repository;
     private final UserClient userClient;
+    private final UserCountCache countCache;
+    private final TransactionTemplate transactionTemplate;
+    private final UserCache cache;
+    private final UserAvailabilityFilter availabilityFilter;
+    private final UserSearchIndex searchIndex;
+    private final UsernameAutocomplete usernameAutocomplete;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PasswordHasher passwordHasher;
+    private final UserLookupCoalescer lookups;
 
     /**
-     * Cria um novo usuário no banco de dados.
+     * Cria um novo usuário no banco de dados, gravando apenas o hash da senha.
      * Caso o username ou email já estejam cadastrados, lança uma exceção de violação de unicidade.
+     * A verificação prévia só consulta o banco quando o filtro de disponibilidade indica um possível conflito.
+     * O hash é calculado fora de transação, para não manter uma conexão do pool presa durante o cálculo.
      * @param user Objeto do usuário a ser salvo.
      * @return Usuário salvo no banco de dados.
      */
     @Override
-    @Transactional
     public User create(User user) {
-        log.info("Criando um novo usuário com username: {}", user.getUsername());
+        log.debug("Criando um novo usuário com username: {}", user.getUsername());
+        if (!isUsernameAvailable(user.getUsername()) || !isEmailAvailable(user.getEmail())) {
+            log.debug("Erro ao criar usuário: já existe um usuário com este username ou email");
+            throw new UniqueViolationException(UNIQUE_VIOLATION_MESSAGE);
+        }
+        user.setPassword(passwordHasher.hash(user.getPassword()));
         try {
-            return repository.save(user);
+            // Com ids por sequência o INSERT só ocorre no flush; força-o aqui para tratar a violação de unicidade
+            User saved = repository.saveAndFlush(user);
+            countCache.increment(1);
+            eventPublisher.publishEvent(UserChangedEvent.created(saved));
+            log.info("Usuário criado com ID: {}", saved.getId());
+            return saved;
         } catch (DataIntegrityViolationException e) {
-            log.error("Erro ao criar usuário: já existe um usuário com este username ou email");
-            throw new UniqueViolationException("Já tem um usuário registrado com esse username ou email");
+            log.debug("Erro ao criar usuário: já existe um usuário com este username ou email");
+            throw new UniqueViolationException(UNIQUE_VIOLATION_MESSAGE);
         }
     }
 
+    /**
+     * Cria vários usuários de uma vez, gravando em lotes JDBC de tamanho fixo, cada um na sua própria transação.
+     * Conflitos de username/email (com o banco ou dentro do próprio lote) são reportados por item,
+     * sem interromper a gravação dos demais. Os hashes das senhas de cada lote são calculados antes de abrir a sua transação.
+     * @param users Usuários a serem salvos.
+     * @return Resultado de cada usuário, na mesma ordem da lista recebida.
+     */
+    @Override
+    public List<UserBatchItemDto> createAll(List<User> users) {
+        log.info("Criando {} usuários em lote", users.size());
+        UserBatchItemDto[] results = new UserBatchItemDto[users.size()];
+        Set<String> takenUsernames = findExisting(users, User::getUsername, repository::findExistingUsernames);
+        Set<String> takenEmails = findExisting(users, User::getEmail, repository::findExistingEmails);
+
+        List<Integer> pending = new ArrayList<>(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            if (takenUsernames.contains(user.getUsername()) || takenEmails.contains(user.getEmail())) {
+                results[i] = conflict(i);
+            } else {
+                takenUsernames.add(user.getUsername());
+                takenEmails.add(user.getEmail());
+                pending.add(i);
+            }
+        }
+
+        int created = 0;
+        for (int from = 0; from < pending.size(); from += BATCH_CHUNK_SIZE) {
+            List<Integer> chunk = pending.subList(from, Math.min(from + BATCH_CHUNK_SIZE, pending.size()));
+            created += insertChunk(users, chunk, results);
+        }
+        countCache.increment(created);
+        log.info("Criação em lote concluída: {} de {} usuários criados", created, users.size());
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Verifica se o username está livre. O banco só é consultado quando o filtro indica que ele pode estar em uso.
+     * @param username Username a ser verificado.
+     * @return true se nenhum usuário usa o username.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isUsernameAvailable(String username) {
+        return !availabilityFilter.mightContainUsername(username) || !repository.existsByUsername(username);
+    }
+
+    /**
+     * Verifica se o email está livre. O banco só é consultado quando o filtro indica que ele pode estar em uso.
+     * @param email Email a ser verificado.
+     * @return true se nenhum usuário usa o email.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isEmailAvailable(String email) {
+        return !availabilityFilter.mightContainEmail(email) || !repository.existsByEmail(email);
+    }
+
+    private Set<String> findExisting(List<User> users, Function<User, String> field,
+                                     Function<Collection<String>, List<String>> query) {
+        List<String> values = users.stream().map(field).distinct().toList();
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < values.size(); from += LOOKUP_CHUNK_SIZE) {
+            existing.addAll(query.apply(values.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, values.size()))));
+        }
+        return existing;
+    }
+
+    private int insertChunk(List<User> users, List<Integer> chunk, UserBatchItemDto[] results) {
+        List<User> batch = chunk.stream().map(users::get).toList();
+        List<String> hashes = passwordHasher.hashAll(batch.stream().map(User::getPassword).toList());
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).setPassword(hashes.get(i));
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> repository.saveAllAndFlush(batch));
+            chunk.forEach(i -> results[i] = created(i, users.get(i)));
+            batch.forEach(user -> eventPublisher.publishEvent(UserChangedEvent.created(user)));
+            return chunk.size();
+        } catch (DataIntegrityViolationException e) {
+            // Um username/email foi gravado por outra requisição depois da verificação: isola o conflito item a item
+            log.warn("Conflito de unicidade no lote; gravando {} usuários individualmente", chunk.size());
+            int created = 0;
+            for (Integer i : chunk) {
+                User user = users.get(i);
+                user.setId(null);
+                user.setVersion(0);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> repository.saveAndFlush(user));
+                    results[i] = created(i, user);
+                    eventPublisher.publishEvent(UserChangedEvent.created(user));
+                    created++;
+                } catch (DataIntegrityViolationException ex) {
+                    user.setId(null);
+                    user.setVersion(0);
+                    results[i] = conflict(i);
+                }
+            }
+            return created;
+        }
+    }
+
+    private static UserBatchItemDto created(int index, User user) {
+        return new UserBatchItemDto(index, UserBatchItemDto.Status.CREATED, UserMapper.toDto(user), null);
+    }
+
+    private static UserBatchItemDto conflict(int index) {
+        return new UserBatchItemDto(index, UserBatchItemDto.Status.CONFLICT, null, UNIQUE_VIOLATION_MESSAGE);
+    }
+
     /**
      * Retorna todos os usuários paginados.
      * @param pageable Objeto de paginação para organizar os resultados.
@@ -51,126 +214,453 @@ public class UserService implements UserIService{
     @Override
     @Transactional(readOnly = true)
     public Page<UserProjection> findAll(Pageable pageable) {
-        log.info("Buscando todos os usuários paginados");
+        log.debug("Buscando todos os usuários paginados");
         return repository.findAllPageable(pageable);
     }
 
     /**
-     * Busca um usuário pelo ID fornecido.
+     * Retorna uma fatia de usuários sem executar a contagem total.
+     * @param pageable Objeto de paginação para organizar os resultados.
+     * @return Fatia contendo os usuários encontrados e a indicação de próxima página.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<UserProjection> findAllSlice(Pageable pageable) {
+        log.debug("Buscando usuários paginados sem contagem");
+        return repository.findAllSliced(pageable);
+    }
+
+    /**
+     * Retorna os usuários paginados usando o total mantido em cache no lugar do count(*).
+     * O total é ajustado para nunca contradizer a fatia lida (por exemplo, indicar última página quando há próxima).
+     * @param pageable Objeto de paginação para organizar os resultados.
+     * @return Página contendo os usuários encontrados e o total aproximado.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<UserProjection> findAllWithCachedCount(Pageable pageable) {
+        log.debug("Buscando usuários paginados com contagem em cache");
+        Slice<UserProjection> slice = repository.findAllSliced(pageable);
+        long seen = pageable.isPaged() ? pageable.getOffset() + slice.getNumberOfElements() : slice.getNumberOfElements();
+        long lowerBound = slice.hasNext() ? seen + 1 : seen;
+        long total = slice.hasNext() ? Math.max(countCache.get(), lowerBound) : lowerBound;
+        return new PageImpl<>(slice.getContent(), pageable, total);
+    }
+
+    /**
+     * Retorna os usuários com id maior que o informado, em ordem de id.
+     * Usada na paginação por cursor, que não executa a contagem de registros.
+     * @param afterId Último id já entregue ao cliente.
+     * @param limit Quantidade máxima de usuários retornados.
+     * @return Lista de usuários encontrados.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserProjection> findAllAfter(Long afterId, int limit) {
+        log.debug("Buscando usuários após o ID: {}", afterId);
+        return repository.findAllAfter(afterId, Limit.of(limit));
+    }
+
+    /**
+     * Busca usuários por trecho do nome completo, username ou email, em ordem de relevância.
+     * Usa o índice de busca em memória; enquanto ele não estiver pronto, recorre a uma consulta LIKE no banco.
+     * Textos com menos de dois caracteres (sem contar espaços nas pontas) não encontram nenhum usuário, nos dois casos.
+     * @param query Texto buscado.
+     * @param pageable Página desejada.
+     * @return Página com os usuários encontrados.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<UserProjection> search(String query, Pageable pageable) {
+        log.debug("Buscando usuários pelo texto: {}", query);
+        String normalized = query.strip();
+        // Abaixo disso o índice não forma trigramas e o LIKE casaria com a tabela inteira
+        if (normalized.length() < MIN_SEARCH_LENGTH) {
+            return Page.empty(pageable);
+        }
+        if (searchIndex.isReady()) {
+            return searchIndex.search(normalized, pageable);
+        }
+        return repository.searchByText("%" + escapeLike(normalized.toLowerCase(Locale.ROOT)) + "%", pageable);
+    }
+
+    /**
+     * Sugere usuários cujo username começa com o prefixo informado (menções "@ra..."), em ordem alfabética.
+     * Usa o índice em memória; enquanto ele não estiver pronto, recorre a uma consulta LIKE no banco.
+     * Não abre transação: a consulta em memória não usa o banco e é chamada a cada tecla digitada.
+     * @param prefix Prefixo digitado, com ou sem o "@" inicial.
+     * @param role Papel dos usuários desejados; nulo para todos.
+     * @param limit Quantidade máxima de sugestões.
+     * @return Usuários sugeridos.
+     */
+    @Override
+    public List<UserProjection> autocomplete(String prefix, User.Role role, int limit) {
+        log.debug("Sugerindo usernames para o prefixo: {}", prefix);
+        String normalized = prefix.startsWith("@") ? prefix.substring(1) : prefix;
+        if (normalized.isBlank()) {
+            return List.of();
+        }
+        if (usernameAutocomplete.isReady()) {
+            return usernameAutocomplete.suggest(normalized, role, limit);
+        }
+        return repository.findByUsernamePrefix(escapeLike(normalized.toLowerCase(Locale.ROOT)) + "%", role, Limit.of(limit));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Percorre todos os usuários com um cursor somente-leitura, entregando cada um à ação informada.
+     * As linhas são lidas do banco em blocos, sem offset nem contagem, e nenhuma é mantida após ser entregue.
+     * @param action Ação executada para cada usuário, na ordem em que são lidos.
+     * @return Quantidade de usuários percorridos.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportAll(Consumer<UserProjection> action) {
+        log.info("Exportando todos os usuários");
+        long count = 0;
+        try (Stream<UserProjection> stream = repository.streamAll()) {
+            for (UserProjection user : (Iterable<UserProjection>) stream::iterator) {
+                action.accept(user);
+                count++;
+            }
+        }
+        log.info("Exportação concluída: {} usuários", count);
+        return count;
+    }
+
+    /**
+     * Busca um usuário pelo ID fornecido, consultando primeiro o cache.
+     * Em uma falta no cache, buscas simultâneas pelo mesmo ID compartilham uma única consulta.
+     * Não abre transação própria: quem aguarda a consulta de outra requisição não prende uma conexão do pool.
      * Caso o usuário não seja encontrado, lança uma exceção de recurso não encontrado.
      * @param id ID do usuário a ser buscado.
-     * @return Usuário encontrado no banco de dados.
+     * @return Usuário encontrado.
      */
     @Override
-    @Transactional(readOnly = true)
     public User findById(Long id) {
-        log.info("Buscando usuário por ID: {}", id);
-        return repository.findById(id).orElseThrow(() -> {
-            log.warn("Usuário não encontrado com o ID: {}", id);
-            return new ResourceNotFoundException("Nenhum usuário foi encontrado com o id: " + id);
+        log.debug("Buscando usuário por ID: {}", id);
+        User cached = cache.getById(id);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = cache.stamp();
+        return lookups.load(UserLookupCoalescer.Lookup.ID, id, stamp, () -> {
+            User user = loadById(id);
+            cache.put(user, stamp);
+            return user;
+        });
+    }
+
+    /**
+     * Busca o usuário direto no banco, sem passar pelo cache. Usado pelas operações de escrita,
+     * que alteram a entidade e não podem trabalhar sobre a instância compartilhada do cache.
+     */
+    private User loadById(Long id) {
+        return repository.findById(id).orElseThrow(() -> notFound(id));
+    }
+
+    private static void checkVersion(User user, Long expectedVersion) {
+        if (expectedVersion != null && expectedVersion != user.getVersion()) {
+            throw versionMismatch(user.getId(), expectedVersion);
+        }
+    }
+
+    private static PreconditionFailedException versionMismatch(Long id, Long expectedVersion) {
+        log.debug("Usuário com ID {} não está mais na versão {}", id, expectedVersion);
+        return new PreconditionFailedException("O usuário foi alterado desde a versão informada; recarregue-o e tente novamente");
+    }
+
+    private ResourceNotFoundException notFound(Long id) {
+        log.debug("Usuário não encontrado com o ID: {}", id);
+        return new ResourceNotFoundException("Nenhum usuário foi encontrado com o id: " + id);
+    }
+
+    /**
+     * Retorna apenas a versão do usuário, usada para responder leituras condicionais sem carregar a entidade.
+     * Quando o usuário está no cache, nenhuma consulta é feita.
+     * @param id ID do usuário.
+     * @return Id, versão e data da última atualização do usuário.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public UserVersion findVersionById(Long id) {
+        User cached = cache.getById(id);
+        if (cached != null) {
+            return UserVersion.of(cached);
+        }
+        return repository.findVersionById(id).orElseThrow(() -> notFound(id));
+    }
+
+    /**
+     * Retorna apenas a versão do usuário com o username informado, consultando primeiro o cache.
+     * @param username Username do usuário.
+     * @return Id, versão e data da última atualização do usuário.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public UserVersion findVersionByUsername(String username) {
+        User cached = cache.getByUsername(username);
+        if (cached != null) {
+            return UserVersion.of(cached);
+        }
+        return repository.findVersionByUsername(username).orElseThrow(() -> {
+            log.debug("Usuário não encontrado com o username: {}", username);
+            return new ResourceNotFoundException("Nenhum usuário foi encontrado com o username: " + username);
         });
     }
 
     /**
-     * Busca um usuário pelo username fornecido.
+     * Busca vários usuários pelos IDs fornecidos, em consultas IN de tamanho limitado e em uma única transação.
+     * IDs inexistentes simplesmente não aparecem no resultado.
+     * @param ids IDs dos usuários a serem buscados.
+     * @return Usuários encontrados, indexados pelo ID.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, User> findAllByIds(Collection<Long> ids) {
+        log.debug("Buscando {} usuários por ID", ids.size());
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        Map<Long, User> users = new HashMap<>(distinctIds.size() * 2);
+        for (int from = 0; from < distinctIds.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, distinctIds.size()));
+            for (User user : repository.findAllById(chunk)) {
+                users.put(user.getId(), user);
+            }
+        }
+        return users;
+    }
+
+    /**
+     * Busca um usuário pelo username fornecido, consultando primeiro o cache.
+     * Em uma falta no cache, buscas simultâneas pelo mesmo username compartilham uma única consulta.
      * Caso o usuário não seja encontrado, lança uma exceção de recurso não encontrado.
      * @param username Username do usuário a ser buscado.
      * @return Usuário encontrado no banco de dados.
      */
     @Override
-    @Transactional(readOnly = true)
     public User findByUsername(String username) {
-        log.info("Buscando usuário por username: {}", username);
-        return repository.findByUsername(username).orElseThrow(() -> {
-            log.warn("Usuário não encontrado com o username: {}", username);
-            return new ResourceNotFoundException("Nenhum usuário foi encontrado com o username: " + username);
+        log.debug("Buscando usuário por username: {}", username);
+        User cached = cache.getByUsername(username);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = cache.stamp();
+        return lookups.load(UserLookupCoalescer.Lookup.USERNAME, username, stamp, () -> {
+            User user = repository.findByUsername(username).orElseThrow(() -> {
+                log.debug("Usuário não encontrado com o username: {}", username);
+                return new ResourceNotFoundException("Nenhum usuário foi encontrado com o username: " + username);
+            });
+            cache.put(user, stamp);
+            return user;
         });
     }
 
     /**
-     * Busca um usuário pelo email fornecido.
+     * Busca um usuário pelo email fornecido, consultando primeiro o cache.
+     * Em uma falta no cache, buscas simultâneas pelo mesmo email compartilham uma única consulta.
      * Caso o usuário não seja encontrado, lança uma exceção de recurso não encontrado.
      * @param email Email do usuário a ser buscado.
      * @return Usuário encontrado no banco de dados.
      */
     @Override
-    @Transactional(readOnly = true)
     public User findByEmail(String email) {
-        log.info("Buscando usuário por email: {}", email);
-        return repository.findByEmail(email).orElseThrow(() -> {
-            log.warn("Usuário não encontrado com o email: {}", email);
-            return new ResourceNotFoundException("Nenhum usuário foi encontrado com o email: " + email);
+        log.debug("Buscando usuário por email: {}", email);
+        User cached = cache.getByEmail(email);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = cache.stamp();
+        return lookups.load(UserLookupCoalescer.Lookup.EMAIL, email, stamp, () -> {
+            User user = repository.findByEmail(email).orElseThrow(() -> {
+                log.debug("Usuário não encontrado com o email: {}", email);
+                return new ResourceNotFoundException("Nenhum usuário foi encontrado com o email: " + email);
+            });
+            cache.put(user, stamp);
+            return user;
         });
     }
 
     /**
      * Atualiza a senha do usuário após validar a senha atual e a confirmação da nova senha.
      * Caso a senha atual seja inválida ou a confirmação não coincida, lança exceções apropriadas.
+     * A nova senha é sempre gravada como hash, o que também converte as senhas legadas em texto puro.
+     * A gravação usa o controle de versão da entidade: se o usuário for alterado por outra requisição
+     * durante a verificação, a atualização falha em vez de sobrescrever a alteração concorrente.
      * @param id ID do usuário que terá a senha alterada.
+     * @param expectedVersion Versão do usuário conhecida pelo cliente, ou null para não verificar.
      * @param currentPassword Senha atual do usuário.
      * @param newPassword Nova senha a ser cadastrada.
      * @param confirmationPassword Confirmação da nova senha.
      */
     @Override
-    @Transactional
-    public void updatePassword(Long id, String currentPassword, String newPassword, String confirmationPassword) {
-        log.info("Atualizando senha do usuário com ID: {}", id);
+    public void updatePassword(Long id, Long expectedVersion, String currentPassword, String newPassword, String confirmationPassword) {
+        log.debug("Atualizando senha do usuário com ID: {}", id);
         if (!newPassword.equals(confirmationPassword)) {
-            log.warn("Nova senha e confirmação de senha não conferem para o usuário com ID: {}", id);
+            log.debug("Nova senha e confirmação de senha não conferem para o usuário com ID: {}", id);
             throw new PasswordInvalidException("Nova senha não confere com confirmação de senha.");
         }
 
-        User user = findById(id);
-        if (!user.getPassword().equals(currentPassword)) {
-            log.warn("Senha atual incorreta para o usuário com ID: {}", id);
+        User user = loadById(id);
+        checkVersion(user, expectedVersion);
+        if (!passwordHasher.matches(currentPassword, user.getPassword())) {
+            log.debug("Senha atual incorreta para o usuário com ID: {}", id);
             throw new PasswordInvalidException("Sua senha não confere.");
         }
 
-        user.setPassword(newPassword);
+        user.setPassword(passwordHasher.hash(newPassword));
         repository.save(user);
+        cache.evict(id);
         log.info("Senha atualizada com sucesso para o usuário com ID: {}", id);
     }
 
+    /**
+     * Atualiza todos os campos editáveis do usuário.
+     * Caso a versão esperada seja informada e o usuário já esteja em outra versão, lança uma exceção de pré-condição.
+     * Uma alteração concorrente gravada entre a leitura e o UPDATE é detectada pela versão da entidade
+     * no próprio UPDATE, sem bloqueio de linha.
+     * @param id ID do usuário a ser alterado.
+     * @param expectedVersion Versão do usuário conhecida pelo cliente, ou null para não verificar.
+     * @param newData Novos dados do usuário.
+     */
     @Override
     @Transactional
-    public void updateUser(Long id, User newData) {
-        log.info("Iniciando atualização do usuário com ID: {}", id);
-        User user = findById(id);
+    public void updateUser(Long id, Long expectedVersion, User newData) {
+        log.debug("Iniciando atualização do usuário com ID: {}", id);
+        User user = loadById(id);
+        checkVersion(user, expectedVersion);
 
         user.setUsername(newData.getUsername());
         user.setEmail(newData.getEmail());
         user.setRole(newData.getRole());
         user.setFullName(newData.getFullName());
-        log.info("Usuário com id {} encontrado.", id);
+        log.debug("Usuário com id {} encontrado.", id);
 
         repository.save(user);
+        cache.evict(id);
+        eventPublisher.publishEvent(UserChangedEvent.updated(user));
         log.info("Usuário com ID {} atualizado com sucesso", id);
     }
 
+    /**
+     * Atualiza apenas os campos informados (não nulos) do usuário, com um único UPDATE e sem carregar a entidade.
+     * Caso o usuário não exista, lança uma exceção de recurso não encontrado; caso o novo username ou email
+     * já esteja em uso, lança uma exceção de violação de unicidade.
+     * Com a versão esperada informada, a comparação é feita no próprio UPDATE; se a linha estiver em outra versão,
+     * lança uma exceção de pré-condição.
+     * @param id ID do usuário a ser alterado.
+     * @param expectedVersion Versão do usuário conhecida pelo cliente, ou null para não verificar.
+     * @param changes Campos a alterar; campos nulos são mantidos.
+     */
+    @Override
+    @Transactional
+    public void patchUser(Long id, Long expectedVersion, User changes) {
+        log.debug("Atualizando parcialmente o usuário com ID: {}", id);
+        if (changes.getFullName() == null && changes.getUsername() == null && changes.getEmail() == null && changes.getRole() == null) {
+            UserVersion current = repository.findVersionById(id).orElseThrow(() -> notFound(id));
+            if (expectedVersion != null && expectedVersion != current.version()) {
+                throw versionMismatch(id, expectedVersion);
+            }
+            return;
+        }
+        int updated;
+        try {
+            updated = repository.patch(id, expectedVersion, changes.getFullName(), changes.getUsername(), changes.getEmail(),
+                    changes.getRole(), Instant.now());
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Erro ao atualizar usuário: já existe um usuário com este username ou email");
+            throw new UniqueViolationException(UNIQUE_VIOLATION_MESSAGE);
+        }
+        if (updated == 0) {
+            // Sem versão esperada, nenhuma linha alterada significa que o usuário não existe
+            if (expectedVersion != null && repository.existsById(id)) {
+                throw versionMismatch(id, expectedVersion);
+            }
+            throw notFound(id);
+        }
+        cache.evict(id);
+        // Leitura pela chave primária apenas das colunas exibidas, para manter os índices em memória sincronizados
+        repository.findSummaryById(id).ifPresent(user -> eventPublisher.publishEvent(UserChangedEvent.updated(user)));
+        log.info("Usuário com ID {} atualizado parcialmente com sucesso", id);
+    }
 
     /**
-     * Exclui um usuário do banco de dados após encontrá-lo pelo ID.
-     * Caso haja uma violação de integridade, lança uma exceção apropriada.
+     * Exclui um usuário do banco de dados com um único DELETE pelo ID, sem carregá-lo antes.
+     * Caso nenhuma linha seja excluída, lança uma exceção de recurso não encontrado;
+     * caso haja uma violação de integridade, lança uma exceção apropriada.
      * @param id ID do usuário a ser excluído.
      */
     @Override
     @Transactional
     public void delete(Long id) {
-        log.info("Excluindo usuário com ID: {}", id);
-        User user = findById(id);
-
+        log.debug("Excluindo usuário com ID: {}", id);
+        int deleted;
         try{
-            repository.delete(user);
-            log.info("Usuário com ID: {} deletado com sucesso", id);
+            deleted = repository.deleteRowById(id);
         }catch (DataIntegrityViolationException e){
             log.error("Erro ao excluir usuário com ID: {} - Violação de integridade", id);
             throw new DatabaseException("Violação de integridade");
         }
+        if (deleted == 0) {
+            throw notFound(id);
+        }
+        cache.evict(id);
+        countCache.increment(-1);
+        eventPublisher.publishEvent(UserChangedEvent.deleted(id));
+        log.info("Usuário com ID: {} deletado com sucesso", id);
     }
 
+    /**
+     * Exclui vários usuários pelos IDs, em comandos DELETE ... WHERE id IN de tamanho limitado,
+     * cada um em sua própria transação; o total em cache é ajustado após o commit de cada bloco. IDs inexistentes são ignorados.
+     * Caso haja uma violação de integridade, lança uma exceção apropriada; os blocos anteriores permanecem excluídos.
+     * @param ids IDs dos usuários a serem excluídos.
+     * @return Quantidade de usuários excluídos.
+     */
     @Override
-    @Transactional(readOnly = true)
-    public PageableDto findAllWithClient(){
-        return userClient.findAll();
+    public int deleteAll(Collection<Long> ids) {
+        log.info("Excluindo {} usuários em lote", ids.size());
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        int deleted = 0;
+        for (int from = 0; from < distinctIds.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, distinctIds.size()));
+            Integer count;
+            try {
+                count = transactionTemplate.execute(status -> {
+                    // Só os ids que existem afetam o total, o cache e os índices em memória
+                    List<Long> existing = repository.findExistingIds(chunk);
+                    if (existing.isEmpty()) {
+                        return 0;
+                    }
+                    int removed = repository.deleteRowsByIdIn(existing);
+                    countCache.increment(-removed);
+                    existing.forEach(id -> {
+                        cache.evict(id);
+                        eventPublisher.publishEvent(UserChangedEvent.deleted(id));
+                    });
+                    return removed;
+                });
+            } catch (DataIntegrityViolationException e) {
+                log.error("Erro ao excluir usuários em lote - Violação de integridade");
+                throw new DatabaseException("Violação de integridade");
+            }
+            deleted += count != null ? count : 0;
+        }
+        log.info("Exclusão em lote concluída: {} de {} usuários excluídos", deleted, distinctIds.size());
+        return deleted;
+    }
+
+    /**
+     * Busca as primeiras páginas de usuários pelo cliente HTTP, em paralelo, juntando-as em uma única página.
+     * Não abre transação: nenhuma conexão do banco fica presa enquanto as requisições estão em andamento.
+     * @param pages Quantidade de páginas a buscar.
+     * @param size Quantidade de usuários por página.
+     * @return Futuro com a página resultante.
+     */
+    @Override
+    public CompletableFuture<PageableDto<UserSummary>> findAllWithClient(int pages, int size){
+        return userClient.findAll(pages, size).toFuture();
     }
 }
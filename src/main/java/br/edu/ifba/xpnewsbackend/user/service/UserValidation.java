@@ -0,0 +1,38 @@
+package br.edu.ifba.xpnewsbackend.user.service;
+
+import br.edu.ifba.xpnewsbackend.user.dto.UserCreateDto;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Validação dos usuários recebidos em lote (criação em lote e importação), item a item,
+ * com as mesmas regras de UserCreateDto, sem interromper o lote no primeiro erro.
+ */
+public final class UserValidation {
+
+    private UserValidation() {
+    }
+
+    /**
+     * Valida os dados de um usuário.
+     * @param validator Validador do Bean Validation.
+     * @param dto Dados do usuário.
+     * @return Violações encontradas, ordenadas e separadas por "; "; nulo quando os dados são válidos.
+     */
+    public static String validate(Validator validator, UserCreateDto dto) {
+        if (dto == null) {
+            return "The user data is required.";
+        }
+        Set<ConstraintViolation<UserCreateDto>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+}
@@ -0,0 +1,107 @@
+package br.edu.ifba.xpnewsbackend.user.service;
+
+import br.edu.ifba.xpnewsbackend.infrastructure.search.SortedPrefixIndex;
+import br.edu.ifba.xpnewsbackend.user.entity.User;
+import br.edu.ifba.xpnewsbackend.user.event.UserChangedEvent;
+import br.edu.ifba.xpnewsbackend.user.repository.UserProjection;
+import br.edu.ifba.xpnewsbackend.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+
+/**
+ * Autocompletar de usernames (menções "@ra...") servido da memória.
+ * Mantém um índice ordenado por username para cada papel, de forma que o filtro por papel não precise
+ * descartar resultados; sem filtro, as listas dos papéis são intercaladas em ordem.
+ */
+@Component
+public class UsernameAutocomplete extends UserIndex<UsernameAutocomplete.Indexes> {
+
+    public UsernameAutocomplete(UserRepository repository, TransactionTemplate transactionTemplate,
+                                @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor executor) {
+        super(repository, transactionTemplate, executor);
+    }
+
+    /**
+     * Retorna os usuários cujo username começa com o prefixo, sem diferenciar maiúsculas, em ordem alfabética.
+     * @param prefix Prefixo digitado.
+     * @param role Papel dos usuários desejados; nulo para todos.
+     * @param limit Quantidade máxima de usuários.
+     * @return Usuários encontrados.
+     */
+    public List<UserProjection> suggest(String prefix, User.Role role, int limit) {
+        String key = prefix.toLowerCase(Locale.ROOT);
+        return read(indexes -> {
+            if (role != null) {
+                return indexes.byRole().get(role).findByPrefix(key, limit);
+            }
+            List<UserProjection> result = new ArrayList<>();
+            for (SortedPrefixIndex<UserProjection> index : indexes.byRole().values()) {
+                result.addAll(index.findByPrefix(key, limit));
+            }
+            result.sort((a, b) -> key(a).compareTo(key(b)));
+            return result.size() > limit ? result.subList(0, limit) : result;
+        });
+    }
+
+    @Override
+    protected Indexes build(Stream<UserProjection> users) {
+        Map<User.Role, List<UserProjection>> byRole = new EnumMap<>(User.Role.class);
+        Map<Long, UserProjection> byId = new HashMap<>();
+        for (User.Role role : User.Role.values()) {
+            byRole.put(role, new ArrayList<>());
+        }
+        users.forEach(user -> {
+            byRole.get(User.Role.valueOf(user.getRole())).add(user);
+            byId.put(user.getId(), user);
+        });
+        Map<User.Role, SortedPrefixIndex<UserProjection>> indexes = new EnumMap<>(User.Role.class);
+        byRole.forEach((role, list) -> indexes.put(role, new SortedPrefixIndex<>(list, UsernameAutocomplete::key)));
+        return new Indexes(indexes, byId);
+    }
+
+    @Override
+    protected void apply(Indexes indexes, UserChangedEvent event) {
+        UserProjection previous = event.type() == UserChangedEvent.Type.DELETED
+                ? indexes.byId().remove(event.id())
+                : indexes.byId().put(event.id(), event.user());
+        if (previous != null) {
+            indexes.byRole().get(User.Role.valueOf(previous.getRole())).remove(key(previous));
+        }
+        if (event.type() != UserChangedEvent.Type.DELETED) {
+            indexes.byRole().get(User.Role.valueOf(event.user().getRole())).put(event.user());
+        }
+    }
+
+    @Override
+    protected int size(Indexes indexes) {
+        return indexes.byId().size();
+    }
+
+    @Override
+    protected String description() {
+        return "índice de autocompletar de usernames";
+    }
+
+    // Username em minúsculas para a busca sem diferenciar maiúsculas, seguido do original para manter a chave única
+    private static String key(UserProjection user) {
+        return user.getUsername().toLowerCase(Locale.ROOT) + '\0' + user.getUsername();
+    }
+
+    /**
+     * @param byRole Índice ordenado por username de cada papel.
+     * @param byId Último valor indexado de cada usuário, necessário para remover o username antigo em uma renomeação.
+     */
+    protected record Indexes(Map<User.Role, SortedPrefixIndex<UserProjection>> byRole, Map<Long, UserProjection> byId) {
+    }
+}
@@ -0,0 +1,33 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Cria a sequência de ids da tabela de usuários, que antes usava IDENTITY.
+ * <p>
+ * O valor inicial depende dos dados já gravados, por isso a migração é em Java: o otimizador pooled do Hibernate
+ * trata cada valor da sequência como o fim de um bloco de {@link #ALLOCATION_SIZE} ids, então ela começa em
+ * {@code max(id) + ALLOCATION_SIZE} para que o primeiro bloco comece logo após o maior id existente.
+ */
+public class V2__create_tb_user_seq extends BaseJavaMigration {
+
+    // Igual ao incremento padrão da sequência de cada entidade no Hibernate (ver PersistenceEntity)
+    static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            long maxId;
+            try (ResultSet rs = statement.executeQuery("select coalesce(max(id), 0) from tb_user")) {
+                rs.next();
+                maxId = rs.getLong(1);
+            }
+            statement.execute("create sequence tb_user_seq start with " + (maxId + ALLOCATION_SIZE)
+                    + " increment by " + ALLOCATION_SIZE);
+        }
+    }
+}
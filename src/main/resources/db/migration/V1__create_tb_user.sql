@@ -0,0 +1,13 @@
+-- Esquema da tabela de usuários como o Hibernate o criava antes das migrações (ids por IDENTITY).
+-- Bancos já existentes são marcados nesta versão pelo baseline do Flyway e recebem apenas as migrações seguintes.
+create table tb_user (
+    id bigint generated by default as identity,
+    full_name varchar(50) not null,
+    username varchar(30) not null,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    role varchar(50) not null check (role in ('ROLE_ADMIN', 'ROLE_CLIENT')),
+    primary key (id),
+    constraint uk_tb_user_username unique (username),
+    constraint uk_tb_user_email unique (email)
+);
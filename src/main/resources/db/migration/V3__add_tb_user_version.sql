@@ -0,0 +1,4 @@
+-- Colunas de controle de concorrência e de data de alteração usadas nas ETags e no Last-Modified.
+-- Ficam anuláveis aqui; as linhas existentes são preenchidas na migração seguinte.
+alter table tb_user add column version bigint;
+alter table tb_user add column updated_at timestamp(6) with time zone;
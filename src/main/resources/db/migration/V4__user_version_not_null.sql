@@ -0,0 +1,5 @@
+-- Linhas gravadas antes da coluna de versão existir ficam com versão 0; a partir daqui a coluna é obrigatória
+update tb_user set version = 0 where version is null;
+
+alter table tb_user alter column version set default 0;
+alter table tb_user alter column version set not null;
@@ -0,0 +1,114 @@
+package br.edu.ifba.xpnewsbackend.benchmark;
+
+import br.edu.ifba.xpnewsbackend.infrastructure.dto.PageableDto;
+import br.edu.ifba.xpnewsbackend.infrastructure.exception.ErrorMessage;
+import br.edu.ifba.xpnewsbackend.infrastructure.json.ApiJsonModule;
+import br.edu.ifba.xpnewsbackend.infrastructure.mapper.PageableMapper;
+import br.edu.ifba.xpnewsbackend.tests.Factory;
+import br.edu.ifba.xpnewsbackend.user.dto.UserResponseDto;
+import br.edu.ifba.xpnewsbackend.user.entity.User;
+import br.edu.ifba.xpnewsbackend.user.repository.UserSummary;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o ObjectMapper do MVC com e sem o ApiJsonModule nas respostas mais frequentes:
+ * uma página de 20 usuários (find-all), um usuário (find-by-id) e uma mensagem de erro.
+ * O contador "bytes" mostra a vazão em bytes/s; execute pelo método main (classpath de testes)
+ * e use "-prof gc" para ver a alocação por resposta.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"default", "module"})
+    private String mapper;
+
+    private ObjectWriter writer;
+    private PageableDto<UserSummary> page;
+    private UserResponseDto user;
+    private ErrorMessage error;
+
+    /**
+     * Destino das respostas: descarta os bytes e apenas os conta, como a saída do servlet faria.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Output extends OutputStream {
+
+        public long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if (mapper.equals("module")) {
+            builder.modulesToInstall(new ApiJsonModule());
+        }
+        writer = builder.build().writer();
+
+        List<UserSummary> content = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            content.add(new UserSummary(id, "Usuario " + id, "user" + id + "@gmail.com", "user" + id, User.Role.ROLE_CLIENT));
+        }
+        page = PageableMapper.toDto(new PageImpl<>(content, PageRequest.of(0, 20), 1000));
+        user = Factory.createUserResponseDto();
+        error = new ErrorMessage(new MockHttpServletRequest("GET", "/xp-news/users/find-by-id"),
+                HttpStatus.NOT_FOUND, Instant.now(), "Nenhum usuário foi encontrado com o id: 9");
+    }
+
+    @Benchmark
+    public void page(Output output) throws IOException {
+        writer.writeValue(output, page);
+    }
+
+    @Benchmark
+    public void user(Output output) throws IOException {
+        writer.writeValue(output, user);
+    }
+
+    @Benchmark
+    public void error(Output output) throws IOException {
+        writer.writeValue(output, error);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JsonSerializationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
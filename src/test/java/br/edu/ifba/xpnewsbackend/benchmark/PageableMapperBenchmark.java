@@ -0,0 +1,81 @@
+package br.edu.ifba.xpnewsbackend.benchmark;
+
+import br.edu.ifba.xpnewsbackend.infrastructure.dto.PageableDto;
+import br.edu.ifba.xpnewsbackend.infrastructure.mapper.PageableMapper;
+import br.edu.ifba.xpnewsbackend.user.repository.UserProjection;
+import br.edu.ifba.xpnewsbackend.user.repository.UserSummary;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede o custo de montar e serializar uma página do find-all.
+ * O caminho anterior usa proxies de projeção por interface e um ModelMapper por chamada;
+ * o atual usa UserSummary e o PageableMapper tipado.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageableMapperBenchmark {
+
+    @Param({"100", "1000"})
+    private int pageSize;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private Page<UserProjection> proxyPage;
+    private Page<UserProjection> summaryPage;
+
+    @Setup
+    public void setUp() {
+        SpelAwareProxyProjectionFactory factory = new SpelAwareProxyProjectionFactory();
+        List<UserProjection> proxies = new ArrayList<>(pageSize);
+        List<UserProjection> summaries = new ArrayList<>(pageSize);
+        for (long i = 1; i <= pageSize; i++) {
+            proxies.add(factory.createProjection(UserProjection.class, Map.of(
+                    "id", i,
+                    "fullName", "Usuário " + i,
+                    "email", "user" + i + "@gmail.com",
+                    "username", "user" + i,
+                    "role", "ROLE_CLIENT")));
+            summaries.add(new UserSummary(i, "Usuário " + i, "user" + i + "@gmail.com", "user" + i, "ROLE_CLIENT"));
+        }
+        PageRequest pageable = PageRequest.of(0, pageSize);
+        proxyPage = new PageImpl<>(proxies, pageable, pageSize * 10L);
+        summaryPage = new PageImpl<>(summaries, pageable, pageSize * 10L);
+    }
+
+    @Benchmark
+    public byte[] typedEnvelope() throws JsonProcessingException {
+        PageableDto<UserProjection> dto = PageableMapper.toDto(summaryPage);
+        return objectMapper.writeValueAsBytes(dto);
+    }
+
+    @Benchmark
+    public byte[] modelMapperWithProxies() throws JsonProcessingException {
+        PageableDto<?> dto = new ModelMapper().map(proxyPage, PageableDto.class);
+        return objectMapper.writeValueAsBytes(dto);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PageableMapperBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,52 @@
+package br.edu.ifba.xpnewsbackend.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede o tempo de hash e de verificação do bcrypt para cada custo, em uma única thread.
+ * Escolha o maior custo (xp-news.password.bcrypt-strength) cujo tempo fique dentro do orçamento de latência
+ * da criação/troca de senha; com N threads no pool, a vazão máxima é de aproximadamente N / tempo por operação.
+ * Execute pelo método main (classpath de testes).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordHasherBenchmark {
+
+    @Param({"8", "10", "12"})
+    private int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(strength);
+        hash = encoder.encode("senhaSegura123");
+    }
+
+    @Benchmark
+    public String hash() {
+        return encoder.encode("senhaSegura123");
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return encoder.matches("senhaSegura123", hash);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PasswordHasherBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
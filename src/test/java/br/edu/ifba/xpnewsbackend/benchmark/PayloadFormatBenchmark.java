@@ -0,0 +1,114 @@
+package br.edu.ifba.xpnewsbackend.benchmark;
+
+import br.edu.ifba.xpnewsbackend.infrastructure.dto.PageableDto;
+import br.edu.ifba.xpnewsbackend.infrastructure.json.ApiJsonModule;
+import br.edu.ifba.xpnewsbackend.infrastructure.mapper.PageableMapper;
+import br.edu.ifba.xpnewsbackend.tests.Factory;
+import br.edu.ifba.xpnewsbackend.user.dto.UserResponseDto;
+import br.edu.ifba.xpnewsbackend.user.entity.User;
+import br.edu.ifba.xpnewsbackend.user.repository.UserSummary;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara JSON, CBOR e Smile nas respostas das buscas de usuários: codificação no servidor (com o ApiJsonModule,
+ * como no MVC) e decodificação no cliente (como no UserClient), para um usuário e para uma página de 1000.
+ * O tamanho de cada resposta aparece nos resultados da codificação como contador auxiliar (bytes);
+ * execute pelo método main (classpath de testes) e use "-prof gc" para ver a alocação por operação.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PayloadFormatBenchmark {
+
+    private static final TypeReference<PageableDto<UserSummary>> PAGE_TYPE = new TypeReference<>() {};
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectWriter writer;
+    private ObjectReader userReader;
+    private ObjectReader pageReader;
+    private UserResponseDto user;
+    private PageableDto<UserSummary> page;
+    private byte[] userBytes;
+    private byte[] pageBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile();
+            default -> Jackson2ObjectMapperBuilder.json();
+        };
+        ObjectMapper mapper = builder.modulesToInstall(new ApiJsonModule()).build();
+        writer = mapper.writer();
+        userReader = mapper.readerFor(UserResponseDto.class);
+        pageReader = mapper.readerFor(PAGE_TYPE);
+
+        List<UserSummary> content = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            content.add(new UserSummary(id, "Usuario " + id, "user" + id + "@gmail.com", "user" + id, User.Role.ROLE_CLIENT));
+        }
+        page = PageableMapper.toDto(new PageImpl<>(content, PageRequest.of(0, 1000), 250_000));
+        user = Factory.createUserResponseDto();
+        userBytes = writer.writeValueAsBytes(user);
+        pageBytes = writer.writeValueAsBytes(page);
+    }
+
+    /**
+     * Tamanho da resposta codificada, reportado pelo JMH junto com o tempo de cada benchmark de codificação.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Size {
+        public long bytes;
+    }
+
+    @Benchmark
+    public byte[] encodeUser(Size size) throws IOException {
+        byte[] bytes = writer.writeValueAsBytes(user);
+        size.bytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public UserResponseDto decodeUser() throws IOException {
+        return userReader.readValue(userBytes);
+    }
+
+    @Benchmark
+    public byte[] encodePage(Size size) throws IOException {
+        byte[] bytes = writer.writeValueAsBytes(page);
+        size.bytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public PageableDto<UserSummary> decodePage() throws IOException {
+        return pageReader.readValue(pageBytes);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PayloadFormatBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,84 @@
+package br.edu.ifba.xpnewsbackend.benchmark;
+
+import br.edu.ifba.xpnewsbackend.XpNewsBackendApplication;
+import br.edu.ifba.xpnewsbackend.user.entity.User;
+import br.edu.ifba.xpnewsbackend.user.service.UserIService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a vazão de inserção de usuários: uma chamada de create por usuário contra o createAll em lotes JDBC.
+ * Cada operação grava {@code users} usuários em um H2 em memória.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserBatchInsertBenchmark {
+
+    @Param({"1000"})
+    private int users;
+
+    private ConfigurableApplicationContext context;
+    private UserIService service;
+    private long sequence;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(XpNewsBackendApplication.class)
+                .properties(
+                        "server.port=0",
+                        // Esquema criado pelas migrações e validado pelo Hibernate, como em produção. O banco é
+                        // descartado ao fechar o contexto, então cada rodada começa com a tabela vazia
+                        "spring.datasource.url=jdbc:h2:mem:benchmark",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                        "spring.jpa.properties.hibernate.order_inserts=true",
+                        "logging.level.root=WARN")
+                .run();
+        service = context.getBean(UserIService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int singleInserts() {
+        List<User> batch = nextUsers();
+        for (User user : batch) {
+            service.create(user);
+        }
+        return batch.size();
+    }
+
+    @Benchmark
+    public int batchInsert() {
+        return service.createAll(nextUsers()).size();
+    }
+
+    private List<User> nextUsers() {
+        List<User> batch = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            long n = sequence++;
+            batch.add(new User("Usuário " + n, "user" + n, "user" + n + "@gmail.com", "senha" + n, User.Role.ROLE_CLIENT));
+        }
+        return batch;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UserBatchInsertBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,71 @@
+package br.edu.ifba.xpnewsbackend.benchmark;
+
+import br.edu.ifba.xpnewsbackend.tests.Factory;
+import br.edu.ifba.xpnewsbackend.user.dto.UserCreateDto;
+import br.edu.ifba.xpnewsbackend.user.dto.UserResponseDto;
+import br.edu.ifba.xpnewsbackend.user.entity.User;
+import br.edu.ifba.xpnewsbackend.user.mapper.UserMapper;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.PropertyMap;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o UserMapper atual com o caminho anterior, que criava um ModelMapper a cada chamada.
+ * Execute pelo método main (classpath de testes) e use "-prof gc" para ver a alocação por operação.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserMapperBenchmark {
+
+    private User user;
+    private UserCreateDto createDto;
+
+    @Setup
+    public void setUp() {
+        user = Factory.createUser();
+        createDto = Factory.createUserCreateDto();
+    }
+
+    @Benchmark
+    public UserResponseDto toDto() {
+        return UserMapper.toDto(user);
+    }
+
+    @Benchmark
+    public UserResponseDto toDtoModelMapper() {
+        String role = user.getRole().name().substring("ROLE_".length());
+        ModelMapper mapper = new ModelMapper();
+        mapper.addMappings(new PropertyMap<User, UserResponseDto>() {
+            @Override
+            protected void configure() {
+                map().setRole(role);
+            }
+        });
+        return mapper.map(user, UserResponseDto.class);
+    }
+
+    @Benchmark
+    public User toUser() {
+        return UserMapper.toUser(createDto);
+    }
+
+    @Benchmark
+    public User toUserModelMapper() {
+        return new ModelMapper().map(createDto, User.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UserMapperBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
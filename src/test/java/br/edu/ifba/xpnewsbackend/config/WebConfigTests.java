@@ -0,0 +1,57 @@
+package br.edu.ifba.xpnewsbackend.config;
+
+import br.edu.ifba.xpnewsbackend.infrastructure.exception.ApiExceptionHandler;
+import br.edu.ifba.xpnewsbackend.infrastructure.exception.ErrorMessage;
+import br.edu.ifba.xpnewsbackend.infrastructure.web.MdcTaskDecorator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WebConfigTests {
+
+    @Test
+    void asyncRequestExecutorShouldRejectWhenPoolAndQueueAreFull() {
+        ThreadPoolTaskExecutor executor = WebConfig.asyncRequestExecutor(1, 1, new MdcTaskDecorator());
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            // Como duas exportações em andamento: uma ocupa a única thread e a outra a única vaga da fila
+            executor.execute(() -> await(release));
+            executor.execute(() -> await(release));
+
+            assertThrows(TaskRejectedException.class, () -> executor.execute(() -> {}));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void rejectedAsyncRequestShouldAnswerServiceUnavailable() {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("meterRegistry", new SimpleMeterRegistry());
+        ApiExceptionHandler handler = new ApiExceptionHandler(beans.getBeanProvider(MeterRegistry.class), 10);
+
+        ResponseEntity<ErrorMessage> response = handler.taskRejectedException(
+                new TaskRejectedException("Pool cheio"), new MockHttpServletRequest("GET", "/xp-news/users/export"));
+
+        assertEquals(503, response.getStatusCode().value());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package br.edu.ifba.xpnewsbackend.controller.user;
+
+import br.edu.ifba.xpnewsbackend.user.entity.User;
+import br.edu.ifba.xpnewsbackend.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Leituras condicionais de um usuário: com a ETag atual em If-None-Match a resposta é 304,
+ * com os cabeçalhos de validação uma única vez.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:conditional;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+public class UserConditionalGetTests {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    UserRepository repository;
+
+    Long userId;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        userId = repository.saveAndFlush(new User("Rafael Andrade", "rafa12", "rafa@gmail.com", "senha", User.Role.ROLE_CLIENT)).getId();
+    }
+
+    @Test
+    void findByIdShouldReturnNotModifiedWithSingleValidators() throws Exception {
+        assertNotModifiedWithSingleValidators("/xp-news/users/find-by-id?id=" + userId);
+    }
+
+    @Test
+    void findByUsernameShouldReturnNotModifiedWithSingleValidators() throws Exception {
+        assertNotModifiedWithSingleValidators("/xp-news/users/find-by-username?username=rafa12");
+    }
+
+    @Test
+    void staleETagShouldReturnTheUser() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/xp-news/users/find-by-id?id=" + userId)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"" + userId + "-7\"")).andReturn().getResponse();
+
+        assertEquals(200, response.getStatus());
+        assertEquals(1, response.getHeaders(HttpHeaders.ETAG).size());
+        assertEquals("W/\"" + userId + "-0\"", response.getHeader(HttpHeaders.ETAG));
+    }
+
+    private void assertNotModifiedWithSingleValidators(String uri) throws Exception {
+        MockHttpServletResponse first = mockMvc.perform(get(uri)).andReturn().getResponse();
+        String eTag = first.getHeader(HttpHeaders.ETAG);
+        assertEquals(200, first.getStatus());
+        assertNotNull(eTag);
+
+        MockHttpServletResponse response = mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andReturn().getResponse();
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(1, response.getHeaders(HttpHeaders.ETAG).size(), response.getHeaders(HttpHeaders.ETAG).toString());
+        assertEquals(eTag, response.getHeader(HttpHeaders.ETAG));
+        assertEquals(1, response.getHeaders(HttpHeaders.LAST_MODIFIED).size(), response.getHeaders(HttpHeaders.LAST_MODIFIED).toString());
+        assertEquals(1, response.getHeaders(HttpHeaders.VARY).stream().filter(HttpHeaders.ACCEPT::equals).count());
+    }
+}
@@ -0,0 +1,110 @@
+package br.edu.ifba.xpnewsbackend.controller.user;
+
+import br.edu.ifba.xpnewsbackend.user.entity.User;
+import br.edu.ifba.xpnewsbackend.user.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Negociação de formato nas buscas de usuários: JSON por padrão, Smile ou CBOR quando o cliente os pede no Accept.
+ * Os dois formatos devem carregar exatamente os mesmos dados.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:negotiation;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+public class UserContentNegotiationTests {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final ObjectMapper CBOR = new CBORMapper();
+    private static final ObjectMapper SMILE = new SmileMapper();
+    private static final MediaType APPLICATION_SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    UserRepository repository;
+
+    Long userId;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        userId = repository.saveAndFlush(new User("Rafael Andrade", "rafa12", "rafa@gmail.com", "senha", User.Role.ROLE_CLIENT)).getId();
+        repository.saveAndFlush(new User("Carlos Oliveira", "carlos123", "carlos@gmail.com", "senha", User.Role.ROLE_CLIENT));
+    }
+
+    @Test
+    void findByIdShouldServeJsonByDefaultAndCborOnRequest() throws Exception {
+        String uri = "/xp-news/users/find-by-id?id=" + userId;
+
+        MockHttpServletResponse json = mockMvc.perform(get(uri)).andReturn().getResponse();
+        MockHttpServletResponse browser = mockMvc.perform(get(uri)
+                .header(HttpHeaders.ACCEPT, "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8")).andReturn().getResponse();
+        MockHttpServletResponse cbor = mockMvc.perform(get(uri).accept(MediaType.APPLICATION_CBOR)).andReturn().getResponse();
+
+        assertEquals(200, cbor.getStatus());
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, json.getContentType());
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, browser.getContentType());
+        assertEquals(MediaType.APPLICATION_CBOR_VALUE, cbor.getContentType());
+        assertEquals(JSON.readTree(json.getContentAsByteArray()), CBOR.readTree(cbor.getContentAsByteArray()));
+        assertTrue(cbor.getContentAsByteArray().length < json.getContentAsByteArray().length);
+
+        // A ETag é a mesma nos dois formatos, por isso é fraca; o Vary separa as respostas em caches intermediários
+        assertEquals(json.getHeader(HttpHeaders.ETAG), cbor.getHeader(HttpHeaders.ETAG));
+        assertTrue(cbor.getHeader(HttpHeaders.ETAG).startsWith("W/"), cbor.getHeader(HttpHeaders.ETAG));
+        assertTrue(cbor.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT), cbor.getHeaders(HttpHeaders.VARY).toString());
+    }
+
+    @Test
+    void findAllShouldServeTheSamePageInCbor() throws Exception {
+        String uri = "/xp-news/users/find-all?size=10&sort=id";
+
+        byte[] json = mockMvc.perform(get(uri)).andReturn().getResponse().getContentAsByteArray();
+        MockHttpServletResponse cbor = mockMvc.perform(get(uri).accept(MediaType.APPLICATION_CBOR)).andReturn().getResponse();
+
+        assertEquals(MediaType.APPLICATION_CBOR_VALUE, cbor.getContentType());
+        JsonNode page = CBOR.readTree(cbor.getContentAsByteArray());
+        assertEquals(JSON.readTree(json), page);
+        assertEquals(2, page.get("content").size());
+        assertEquals("rafa12", page.get("content").get(0).get("username").asText());
+    }
+
+    @Test
+    void findAllShouldServeTheSamePageInSmile() throws Exception {
+        String uri = "/xp-news/users/find-all?size=10&sort=id";
+
+        byte[] json = mockMvc.perform(get(uri)).andReturn().getResponse().getContentAsByteArray();
+        MockHttpServletResponse smile = mockMvc.perform(get(uri)
+                .header(HttpHeaders.ACCEPT, "application/x-jackson-smile, application/json;q=0.9")).andReturn().getResponse();
+
+        assertEquals(APPLICATION_SMILE.toString(), smile.getContentType());
+        assertEquals(JSON.readTree(json), SMILE.readTree(smile.getContentAsByteArray()));
+        assertTrue(smile.getContentAsByteArray().length < json.length);
+    }
+
+    @Test
+    void errorsShouldStayJsonWhenCborIsRequested() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/xp-news/users/find-by-id?id=" + (userId + 1000))
+                .accept(MediaType.APPLICATION_CBOR)).andReturn().getResponse();
+
+        assertEquals(404, response.getStatus());
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, response.getContentType());
+        assertEquals(404, JSON.readTree(response.getContentAsByteArray()).get("status").asInt());
+    }
+}
@@ -0,0 +1,53 @@
+package br.edu.ifba.xpnewsbackend.dto.user;
+
+import br.edu.ifba.xpnewsbackend.user.dto.UserPatchDto;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserPatchDtoTests {
+
+    ValidatorFactory validatorFactory;
+    Validator validator;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void omittedFieldsShouldBeValid() {
+        assertTrue(validator.validate(new UserPatchDto()).isEmpty());
+        assertTrue(validator.validate(new UserPatchDto(" Rafael Andrade ", "rafa12", null, null)).isEmpty());
+    }
+
+    @Test
+    void blankFieldsShouldBeRejectedLikeInTheFullUpdate() {
+        // Só espaços passariam pelo @Size, mas o PUT recusa com @NotBlank
+        Set<String> invalid = invalidFields(new UserPatchDto("   ", "\t", " ", null));
+
+        assertEquals(Set.of("fullName", "username", "email"), invalid);
+    }
+
+    private Set<String> invalidFields(UserPatchDto dto) {
+        return validator.validate(dto).stream()
+                .map(ConstraintViolation::getPropertyPath)
+                .map(Object::toString)
+                .collect(Collectors.toSet());
+    }
+}
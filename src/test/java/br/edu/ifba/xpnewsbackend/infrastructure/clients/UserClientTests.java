@@ -0,0 +1,366 @@
+package br.edu.ifba.xpnewsbackend.infrastructure.clients;
+
+import br.edu.ifba.xpnewsbackend.config.WebClientConfig;
+import br.edu.ifba.xpnewsbackend.infrastructure.dto.PageableDto;
+import br.edu.ifba.xpnewsbackend.infrastructure.exception.UserClientUnavailableException;
+import br.edu.ifba.xpnewsbackend.infrastructure.web.CorrelationIdFilter;
+import br.edu.ifba.xpnewsbackend.user.repository.UserSummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserClientTests {
+
+    private static final long PAGE_DELAY_MILLIS = 300;
+    private static final int TOTAL_USERS = 10;
+    private static final int MINIMUM_CALLS = 4;
+    private static final Duration CALL_TIMEOUT = Duration.ofMillis(500);
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final ObjectMapper CBOR = new CBORMapper();
+    private static final ObjectMapper SMILE = new SmileMapper();
+    private static final Pattern PAGE_PARAM = Pattern.compile("page=(\\d+)&size=(\\d+)");
+
+    HttpServer server;
+    ConnectionProvider connectionProvider;
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    AtomicInteger requests = new AtomicInteger();
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    CircuitBreaker circuitBreaker;
+    // Falhas injetadas: as próximas N respostas usam failureStatus; delayMillis vale para todas
+    AtomicInteger failuresRemaining = new AtomicInteger();
+    volatile int failureStatus = 503;
+    volatile long delayMillis = PAGE_DELAY_MILLIS;
+    // Com binary ativo, o servidor responde em Smile ou CBOR a quem os aceitar; clientAccept é o Accept do cliente
+    volatile boolean binary;
+    volatile String clientAccept = "application/x-jackson-smile, application/json;q=0.9";
+    volatile String accept;
+    Set<String> requestIds = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Servidor local que responde cada página do /find-all com um atraso fixo
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/xp-news/users/find-all", exchange -> {
+            requests.incrementAndGet();
+            requestIds.add(String.valueOf(exchange.getRequestHeaders().getFirst("X-Request-Id")));
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(delayMillis);
+                if (failuresRemaining.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                    exchange.sendResponseHeaders(failureStatus, -1);
+                    exchange.close();
+                    return;
+                }
+                Matcher matcher = PAGE_PARAM.matcher(exchange.getRequestURI().getQuery());
+                assertTrue(matcher.find());
+                String json = page(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+                accept = exchange.getRequestHeaders().getFirst("Accept");
+                byte[] body;
+                if (binary && accept != null && accept.contains("application/x-jackson-smile")) {
+                    body = SMILE.writeValueAsBytes(JSON.readTree(json));
+                    exchange.getResponseHeaders().add("Content-Type", "application/x-jackson-smile");
+                } else if (binary && accept != null && accept.contains("application/cbor")) {
+                    body = CBOR.writeValueAsBytes(JSON.readTree(json));
+                    exchange.getResponseHeaders().add("Content-Type", "application/cbor");
+                } else {
+                    body = json.getBytes(StandardCharsets.UTF_8);
+                    exchange.getResponseHeaders().add("Content-Type", "application/json");
+                }
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        if (connectionProvider != null) {
+            connectionProvider.dispose();
+        }
+    }
+
+    @Test
+    void findAllShouldFetchPagesConcurrentlyAndMergeInOrder() {
+        UserClient client = client(5);
+
+        long start = System.nanoTime();
+        PageableDto<UserSummary> result = client.findAll(5, 2).block(Duration.ofSeconds(10));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Cinco páginas de 300 ms em paralelo: o tempo total fica perto de uma página, longe da soma (1500 ms)
+        assertNotNull(result);
+        assertTrue(elapsedMillis < 3 * PAGE_DELAY_MILLIS, "Tempo total de " + elapsedMillis + " ms");
+        assertEquals(TOTAL_USERS, result.getContent().size());
+        for (int i = 0; i < TOTAL_USERS; i++) {
+            assertEquals(i + 1L, result.getContent().get(i).getId());  // Ordem das páginas preservada
+        }
+        assertTrue(result.isLast());
+        assertEquals(TOTAL_USERS, result.getTotalElements());
+        assertEquals(1, result.getTotalPages());
+    }
+
+    @Test
+    void findAllShouldSendTheCallersCorrelationIdOnEveryPage() {
+        delayMillis = 0;
+        UserClient client = client(2);
+
+        // Inscrição na thread de quem chama, como no /find-all-with-client; as páginas são buscadas nas threads do Netty
+        MDC.put(CorrelationIdFilter.MDC_KEY, "req-123");
+        PageableDto<UserSummary> result;
+        try {
+            result = client.findAll(4, 2).block(Duration.ofSeconds(10));
+        } finally {
+            MDC.remove(CorrelationIdFilter.MDC_KEY);
+        }
+
+        assertNotNull(result);
+        assertEquals(4, requests.get());
+        assertEquals(Set.of("req-123"), requestIds);
+    }
+
+    @Test
+    void findAllShouldRespectMaxConcurrency() {
+        UserClient client = client(2);
+
+        PageableDto<UserSummary> result = client.findAll(4, 2).block(Duration.ofSeconds(10));
+
+        assertNotNull(result);
+        assertEquals(8, result.getContent().size());
+        assertFalse(result.isLast());
+        assertTrue(maxInFlight.get() <= 2, "Requisições simultâneas: " + maxInFlight.get());
+    }
+
+    @Test
+    void findPageShouldRequestAndDecodeSmile() {
+        delayMillis = 0;
+        binary = true;
+        UserClient client = client(1);
+
+        PageableDto<UserSummary> result = client.findPage(1, 3).block(Duration.ofSeconds(10));
+
+        // Smile é preferido, com JSON como alternativa para servidores que não o suportem
+        assertTrue(accept.startsWith("application/x-jackson-smile"), accept);
+        assertPageOne(result);
+    }
+
+    @Test
+    void findPageShouldDecodeCborWhenConfigured() {
+        delayMillis = 0;
+        binary = true;
+        clientAccept = "application/cbor, application/json;q=0.9";
+        UserClient client = client(1);
+
+        PageableDto<UserSummary> result = client.findPage(1, 3).block(Duration.ofSeconds(10));
+
+        assertTrue(accept.startsWith("application/cbor"), accept);
+        assertPageOne(result);
+    }
+
+    @Test
+    void findPageShouldFallBackToJson() {
+        delayMillis = 0;
+        UserClient client = client(1);
+
+        // Servidor que só fala JSON: o decodificador segue o Content-Type da resposta
+        assertPageOne(client.findPage(1, 3).block(Duration.ofSeconds(10)));
+    }
+
+    @Test
+    void findPageShouldRetryTransientFailures() {
+        delayMillis = 0;
+        failuresRemaining.set(2);
+        UserClient client = client(1);
+
+        PageableDto<UserSummary> result = client.findPage(0, 2).block(Duration.ofSeconds(10));
+
+        // Duas respostas 503 seguidas da resposta correta: três requisições no total
+        assertNotNull(result);
+        assertEquals(2, result.getContent().size());
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    void findPageShouldNotRetryClientErrors() {
+        delayMillis = 0;
+        failureStatus = 404;
+        failuresRemaining.set(1);
+        UserClient client = client(1);
+
+        assertThrows(WebClientResponseException.NotFound.class, () -> client.findPage(0, 2).block(Duration.ofSeconds(10)));
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void findPageShouldFailWithUnavailableWhenServerKeepsFailing() {
+        delayMillis = 0;
+        failuresRemaining.set(100);
+        UserClient client = client(1);
+
+        UserClientUnavailableException ex = assertThrows(UserClientUnavailableException.class,
+                () -> client.findPage(0, 2).block(Duration.ofSeconds(10)));
+
+        // A primeira tentativa e as duas novas tentativas configuradas
+        assertInstanceOf(WebClientResponseException.ServiceUnavailable.class, ex.getCause());
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    void findPageShouldGiveUpAfterCallTimeout() {
+        delayMillis = 2_000;
+        UserClient client = client(1);
+
+        long start = System.nanoTime();
+        UserClientUnavailableException ex = assertThrows(UserClientUnavailableException.class,
+                () -> client.findPage(0, 2).block(Duration.ofSeconds(10)));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Três tentativas de 500 ms com backoff curto, longe dos 6 s de três respostas do servidor
+        assertTrue(elapsedMillis < 3_000, "Tempo total de " + elapsedMillis + " ms");
+        assertNotNull(ex.getCause());
+    }
+
+    @Test
+    void circuitBreakerShouldOpenAndRejectCallsWithoutReachingTheServer() {
+        delayMillis = 0;
+        failuresRemaining.set(100);
+        UserClient client = client(1);
+
+        for (int i = 0; i < MINIMUM_CALLS; i++) {
+            assertThrows(UserClientUnavailableException.class, () -> client.findPage(0, 2).block(Duration.ofSeconds(10)));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        int requestsWhenOpened = requests.get();
+
+        // Com o circuito aberto a chamada falha na hora, sem nova requisição ao servidor
+        UserClientUnavailableException ex = assertThrows(UserClientUnavailableException.class,
+                () -> client.findPage(0, 2).block(Duration.ofSeconds(10)));
+        assertInstanceOf(CallNotPermittedException.class, ex.getCause());
+        assertEquals(requestsWhenOpened, requests.get());
+        assertEquals(1.0, meterRegistry.get("resilience4j.circuitbreaker.state")
+                .tags("name", WebClientConfig.USER_CLIENT, "state", "open").gauge().value());
+    }
+
+    @Test
+    void circuitBreakerShouldIgnoreClientErrors() {
+        delayMillis = 0;
+        failureStatus = 404;
+        failuresRemaining.set(100);
+        UserClient client = client(1);
+
+        // Uma rajada de ids inexistentes é resposta normal do servidor e não deve abrir o circuito
+        for (int i = 0; i < MINIMUM_CALLS * 2; i++) {
+            assertThrows(WebClientResponseException.NotFound.class, () -> client.findPage(0, 2).block(Duration.ofSeconds(10)));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(0, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+        assertEquals(MINIMUM_CALLS * 2, requests.get());
+    }
+
+    @Test
+    void findAllShouldReturnADegradedPageWhileTheCircuitIsOpen() {
+        delayMillis = 0;
+        UserClient client = client(1);
+        PageableDto<UserSummary> healthy = client.findAll(2, 2).block(Duration.ofSeconds(10));
+        assertNotNull(healthy);
+        assertFalse(healthy.isDegraded());
+
+        circuitBreaker.transitionToOpenState();
+        int requestsWhenOpened = requests.get();
+        PageableDto<UserSummary> result = client.findAll(2, 2).block(Duration.ofSeconds(10));
+
+        // Fallback: página vazia marcada como degradada, sem requisições ao servidor, em vez de um 503
+        assertNotNull(result);
+        assertTrue(result.isDegraded());
+        assertTrue(result.getContent().isEmpty());
+        assertFalse(result.isLast());
+        assertEquals(requestsWhenOpened, requests.get());
+    }
+
+    @Test
+    void findAllShouldStillFailWhenTheServerFailsWithTheCircuitClosed() {
+        delayMillis = 0;
+        failuresRemaining.set(100);
+        UserClient client = client(1);
+
+        // Falha real (após as novas tentativas) não é confundida com o circuito aberto
+        assertThrows(UserClientUnavailableException.class, () -> client.findAll(1, 2).block(Duration.ofSeconds(10)));
+    }
+
+    private void assertPageOne(PageableDto<UserSummary> result) {
+        assertNotNull(result);
+        assertEquals(3, result.getContent().size());
+        assertEquals(4L, result.getContent().get(0).getId());
+        assertEquals("user4@gmail.com", result.getContent().get(0).getEmail());
+        assertEquals(1, result.getNumber());
+        assertEquals(TOTAL_USERS, result.getTotalElements());
+    }
+
+    private UserClient client(int maxConcurrency) {
+        WebClientConfig config = new WebClientConfig();
+        connectionProvider = config.userClientConnectionProvider(
+                4, 10, Duration.ofSeconds(1), Duration.ofSeconds(30), Duration.ofMinutes(5));
+        WebClient webClient = config.webClient(connectionProvider,
+                "http://localhost:" + server.getAddress().getPort() + "/xp-news/users/",
+                Duration.ofMillis(500), Duration.ofSeconds(1), false, clientAccept);
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("meterRegistry", meterRegistry);
+        circuitBreaker = config.userClientCircuitBreaker(beans.getBeanProvider(MeterRegistry.class),
+                50, Duration.ofSeconds(1), MINIMUM_CALLS, MINIMUM_CALLS, Duration.ofSeconds(30));
+        return new UserClient(webClient, circuitBreaker, maxConcurrency,
+                CALL_TIMEOUT, 2, Duration.ofMillis(10), Duration.ofMillis(50));
+    }
+
+    private static String page(int page, int size) {
+        StringBuilder content = new StringBuilder();
+        int from = page * size;
+        int to = Math.min(from + size, TOTAL_USERS);
+        for (int id = from + 1; id <= to; id++) {
+            if (content.length() > 0) {
+                content.append(',');
+            }
+            content.append("{\"id\":").append(id).append(",\"fullName\":\"Usuario ").append(id)
+                    .append("\",\"email\":\"user").append(id).append("@gmail.com\",\"username\":\"user").append(id)
+                    .append("\",\"role\":\"ROLE_CLIENT\"}");
+        }
+        int totalPages = (TOTAL_USERS + size - 1) / size;
+        return "{\"content\":[" + content + "],\"first\":" + (page == 0) + ",\"last\":" + (page >= totalPages - 1)
+                + ",\"page\":" + page + ",\"size\":" + size + ",\"pageElements\":" + Math.max(0, to - from)
+                + ",\"totalPages\":" + totalPages + ",\"totalElements\":" + TOTAL_USERS + "}";
+    }
+}
@@ -0,0 +1,46 @@
+package br.edu.ifba.xpnewsbackend.infrastructure.exception;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ApiExceptionHandlerTests {
+
+    SimpleMeterRegistry registry;
+    ApiExceptionHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("meterRegistry", registry);
+        handler = new ApiExceptionHandler(beans.getBeanProvider(MeterRegistry.class), 10);
+    }
+
+    @Test
+    void exhaustedConnectionPoolShouldAnswerServiceUnavailable() {
+        // Mensagem do Hikari quando o connection-timeout expira
+        SQLTransientConnectionException timeout = new SQLTransientConnectionException(
+                "HikariPool-1 - Connection is not available, request timed out after 3000ms");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/xp-news/users/find-all");
+
+        ResponseEntity<ErrorMessage> transactional = handler.connectionUnavailableException(
+                new CannotCreateTransactionException("Could not open JPA EntityManager for transaction", timeout), request);
+        ResponseEntity<ErrorMessage> jdbc = handler.connectionUnavailableException(
+                new CannotGetJdbcConnectionException("Failed to obtain JDBC Connection", timeout), request);
+
+        assertEquals(503, transactional.getStatusCode().value());
+        assertEquals(503, jdbc.getStatusCode().value());
+        assertEquals(1.0, registry.get("api.errors").tag("exception", "CannotCreateTransactionException").tag("status", "503").counter().count());
+    }
+}
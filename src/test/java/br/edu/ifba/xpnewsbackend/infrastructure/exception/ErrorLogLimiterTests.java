@@ -0,0 +1,37 @@
+package br.edu.ifba.xpnewsbackend.infrastructure.exception;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ErrorLogLimiterTests {
+
+    @Test
+    void acquireShouldLimitLinesPerSecondAndReportSuppressedOnNextWindow() {
+        // Relógio controlado pelo teste
+        AtomicLong clock = new AtomicLong();
+        ErrorLogLimiter limiter = new ErrorLogLimiter(2, clock::get);
+
+        assertEquals(0, limiter.acquire(ResourceNotFoundException.class));
+        assertEquals(0, limiter.acquire(ResourceNotFoundException.class));
+        assertEquals(-1, limiter.acquire(ResourceNotFoundException.class));  // Terceira linha no mesmo segundo é omitida
+        assertEquals(-1, limiter.acquire(ResourceNotFoundException.class));
+        assertEquals(0, limiter.acquire(UniqueViolationException.class));  // Cada tipo de erro tem o seu limite
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertEquals(2, limiter.acquire(ResourceNotFoundException.class));  // Informa as duas ocorrências omitidas
+        assertEquals(0, limiter.acquire(ResourceNotFoundException.class));
+    }
+
+    @Test
+    void expectedExceptionsShouldNotCaptureStackTrace() {
+        assertEquals(0, new ResourceNotFoundException("não encontrado").getStackTrace().length);
+        assertEquals(0, new UniqueViolationException("conflito").getStackTrace().length);
+        assertEquals(0, new PasswordInvalidException("senha").getStackTrace().length);
+        assertTrue(new DatabaseException("falha").getStackTrace().length > 0);  // Falhas inesperadas mantêm o stack trace
+    }
+}
@@ -0,0 +1,102 @@
+package br.edu.ifba.xpnewsbackend.infrastructure.json;
+
+import br.edu.ifba.xpnewsbackend.infrastructure.dto.PageableDto;
+import br.edu.ifba.xpnewsbackend.infrastructure.exception.ErrorMessage;
+import br.edu.ifba.xpnewsbackend.infrastructure.mapper.PageableMapper;
+import br.edu.ifba.xpnewsbackend.tests.Factory;
+import br.edu.ifba.xpnewsbackend.user.dto.UserResponseDto;
+import br.edu.ifba.xpnewsbackend.user.entity.User;
+import br.edu.ifba.xpnewsbackend.user.repository.UserProjection;
+import br.edu.ifba.xpnewsbackend.user.repository.UserSummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ApiJsonModuleTests {
+
+    // Mesma configuração do conversor JSON do MVC, com e sem os serializadores escritos à mão
+    ObjectMapper reference = Jackson2ObjectMapperBuilder.json().build();
+    ObjectMapper fast = Jackson2ObjectMapperBuilder.json().modulesToInstall(new ApiJsonModule()).build();
+
+    @Test
+    void userResponseDtoShouldMatchDefaultSerialization() throws Exception {
+        assertSameJson(Factory.createUserResponseDto());
+        assertSameJson(new UserResponseDto(7L, "José \"Zé\" Ção\n😀", "ze@gmail.com", "zé<>&", "ADMIN"));
+        assertSameJson(new UserResponseDto());  // Campos nulos também são escritos
+        assertSameJson(List.of(Factory.createUserResponseDto(), new UserResponseDto()));
+    }
+
+    @Test
+    void pageShouldMatchDefaultSerialization() throws Exception {
+        // Página com totais, com UserSummary, implementação de teste e proxy de projeção por interface
+        UserProjection proxy = new SpelAwareProxyProjectionFactory().createProjection(UserProjection.class,
+                Map.of("id", 3L, "fullName", "Ana Souza", "email", "ana@gmail.com", "username", "ana", "role", "ROLE_CLIENT"));
+        List<UserProjection> content = new ArrayList<>(Factory.createUserProjectionPage(PageRequest.of(0, 4)).getContent());
+        content.add(new UserSummary(4L, "Bruno Lima", "bruno@gmail.com", "bruno", User.Role.ROLE_ADMIN));
+        content.add(proxy);
+        assertSameJson(PageableMapper.toDto(new PageImpl<>(content, PageRequest.of(1, 4), 20)));
+
+        // Slice: sem totais
+        assertSameJson(PageableMapper.toDto(new SliceImpl<>(content, PageRequest.of(0, 4), true)));
+
+        // Página degradada (circuito aberto no cliente HTTP): o indicador só aparece quando verdadeiro
+        PageableDto<UserProjection> degraded = PageableMapper.toDto(new PageImpl<>(content, PageRequest.of(1, 4), 20));
+        degraded.setDegraded(true);
+        assertSameJson(degraded);
+
+        // Página vazia, com itens nulos e com conteúdo nulo
+        assertSameJson(new PageableDto<UserProjection>());
+        PageableDto<UserSummary> withNull = new PageableDto<>();
+        withNull.setContent(Arrays.asList(null, new UserSummary(5L, null, null, null, "ROLE_CLIENT")));
+        withNull.setTotalElements(1);
+        assertSameJson(withNull);
+        PageableDto<UserSummary> nullContent = new PageableDto<>();
+        nullContent.setContent(null);
+        assertSameJson(nullContent);
+    }
+
+    @Test
+    void errorMessageShouldMatchDefaultSerialization() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/xp-news/users/find-by-id");
+        Instant timestamp = Instant.parse("2026-10-17T10:15:30.123456Z");
+        assertSameJson(new ErrorMessage(request, HttpStatus.NOT_FOUND, timestamp, "Nenhum usuário foi encontrado com o id: 9"));
+        assertSameJson(new ErrorMessage(request, HttpStatus.BAD_REQUEST, timestamp, null));
+
+        BeanPropertyBindingResult result = new BeanPropertyBindingResult(Factory.createUserCreateDto(), "user");
+        result.rejectValue("email", "Email", "must be a well-formed email address");
+        result.rejectValue("username", "Size", "size must be between 3 and 30");
+        assertSameJson(new ErrorMessage(request, HttpStatus.UNPROCESSABLE_ENTITY, timestamp, "Campos inválidos", result));
+    }
+
+    @Test
+    void fastMapperShouldUseHandWrittenSerializers() throws Exception {
+        // Garante que a comparação acima não passou só porque o módulo foi ignorado
+        assertInstanceOf(UserProjectionSerializer.class,
+                fast.getSerializerProviderInstance().findValueSerializer(UserSummary.class));
+        assertInstanceOf(PageableDtoSerializer.class,
+                fast.getSerializerProviderInstance().findValueSerializer(PageableDto.class));
+        assertInstanceOf(ErrorMessageSerializer.class,
+                fast.getSerializerProviderInstance().findValueSerializer(ErrorMessage.class));
+    }
+
+    private void assertSameJson(Object value) throws Exception {
+        byte[] expected = reference.writeValueAsBytes(value);
+        byte[] actual = fast.writeValueAsBytes(value);
+        assertArrayEquals(expected, actual, () -> new String(expected) + "\n" + new String(actual));
+    }
+}
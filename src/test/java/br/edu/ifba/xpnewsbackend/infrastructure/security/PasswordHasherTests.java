@@ -0,0 +1,86 @@
+package br.edu.ifba.xpnewsbackend.infrastructure.security;
+
+import br.edu.ifba.xpnewsbackend.infrastructure.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordHasherTests {
+
+    SimpleMeterRegistry registry;
+    PasswordHasher hasher;
+
+    @BeforeEach
+    void setUp() {
+        // Custo mínimo do bcrypt para manter os testes rápidos
+        registry = new SimpleMeterRegistry();
+        hasher = new PasswordHasher(registry, 4, 2, 10, Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        hasher.shutdown();
+    }
+
+    @Test
+    void hashShouldProduceBcryptThatMatchesOnlyTheOriginalPassword() {
+        String hash = hasher.hash("senhaSegura123");
+
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(hasher.matches("senhaSegura123", hash));
+        assertFalse(hasher.matches("senhaErrada123", hash));
+        assertEquals(2, registry.get("users.password.hashing").timers().size());  // Latência de hash e de verificação
+    }
+
+    @Test
+    void matchesShouldAcceptLegacyPlainTextPassword() {
+        // Senhas gravadas antes da adoção do hash continuam válidas até serem substituídas
+        assertTrue(hasher.matches("senhaSegura123", "senhaSegura123"));
+        assertFalse(hasher.matches("senhaErrada123", "senhaSegura123"));
+        assertFalse(hasher.matches("senhaSegura123", null));
+    }
+
+    @Test
+    void hashAllShouldKeepOrder() {
+        List<String> passwords = List.of("a1", "b2", "c3", "d4", "e5");
+
+        List<String> hashes = hasher.hashAll(passwords);
+
+        assertEquals(passwords.size(), hashes.size());
+        for (int i = 0; i < passwords.size(); i++) {
+            assertTrue(hasher.matches(passwords.get(i), hashes.get(i)));
+        }
+    }
+
+    @Test
+    void hashShouldFailFastWhenQueueIsFull() throws Exception {
+        // Pool de uma thread e fila de uma tarefa: com ambas ocupadas, a próxima chamada é recusada
+        PasswordHasher slowHasher = new PasswordHasher(registry, 16, 1, 1, Duration.ofSeconds(30));
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        CountDownLatch submitted = new CountDownLatch(2);
+        try {
+            List<Future<String>> running = List.of(
+                    callers.submit(() -> { submitted.countDown(); return slowHasher.hash("senha1"); }),
+                    callers.submit(() -> { submitted.countDown(); return slowHasher.hash("senha2"); }));
+            submitted.await();
+            Thread.sleep(200);
+
+            PasswordHashingUnavailableException ex = assertThrows(PasswordHashingUnavailableException.class, () -> slowHasher.hash("senha3"));
+            assertEquals(0, ex.getStackTrace().length);  // Recusa esperada sob carga: sem stack trace
+            running.forEach(future -> future.cancel(true));
+        } finally {
+            callers.shutdownNow();
+            slowHasher.shutdown();
+        }
+    }
+}
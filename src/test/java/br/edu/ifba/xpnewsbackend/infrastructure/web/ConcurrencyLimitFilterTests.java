@@ -0,0 +1,65 @@
+package br.edu.ifba.xpnewsbackend.infrastructure.web;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrencyLimitFilterTests {
+
+    SimpleMeterRegistry registry;
+    ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        // Uma única vaga e espera curta, para que a segunda requisição seja recusada logo
+        registry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("meterRegistry", registry);
+        filter = new ConcurrencyLimitFilter(Jackson2ObjectMapperBuilder.json().build(), beans.getBeanProvider(MeterRegistry.class), 1, Duration.ofMillis(50));
+    }
+
+    @Test
+    void inProgressExportShouldHoldItsSlotUntilTheResponseCompletes() throws Exception {
+        // Como a exportação: o controller inicia o processamento assíncrono e libera a thread do container
+        MockHttpServletRequest export = request("/xp-news/users/export");
+        filter.doFilter(export, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+        AsyncContext exportContext = export.getAsyncContext();
+
+        assertTrue(export.isAsyncStarted());
+        assertEquals(1.0, inFlight());
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(request("/xp-news/users/find-all"), rejected, new MockFilterChain());
+        assertEquals(503, rejected.getStatus());
+
+        exportContext.complete();
+
+        assertEquals(0.0, inFlight());
+        MockHttpServletResponse accepted = new MockHttpServletResponse();
+        filter.doFilter(request("/xp-news/users/find-all"), accepted, new MockFilterChain());
+        assertEquals(200, accepted.getStatus());
+        assertEquals(0.0, inFlight());
+        // A requisição recusada não conta: nunca houve mais de uma em processamento
+        assertEquals(1.0, registry.get("http.server.requests.in-flight.peak").gauge().value());
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setAsyncSupported(true);
+        return request;
+    }
+
+    private double inFlight() {
+        return registry.get("http.server.requests.in-flight").gauge().value();
+    }
+}
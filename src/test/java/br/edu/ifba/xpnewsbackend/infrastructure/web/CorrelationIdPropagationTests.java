@@ -0,0 +1,62 @@
+package br.edu.ifba.xpnewsbackend.infrastructure.web;
+
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CorrelationIdPropagationTests {
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void taskDecoratorShouldCarryTheMdcToTheWorkerThreadAndCleanUp() throws Exception {
+        MdcTaskDecorator decorator = new MdcTaskDecorator();
+        AtomicReference<String> inside = new AtomicReference<>();
+
+        MDC.put(CorrelationIdFilter.MDC_KEY, "req-1");
+        Runnable task = decorator.decorate(() -> inside.set(MDC.get(CorrelationIdFilter.MDC_KEY)));
+        MDC.clear();
+        executor.submit(task).get(5, TimeUnit.SECONDS);
+
+        assertEquals("req-1", inside.get());
+        // A thread do pool volta ao estado anterior e não vaza o id para a próxima tarefa
+        assertNull(executor.submit(() -> MDC.get(CorrelationIdFilter.MDC_KEY)).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void asyncDispatchShouldReuseTheIdOfTheOriginalRequest() throws Exception {
+        CorrelationIdFilter filter = new CorrelationIdFilter();
+        AtomicReference<String> duringAsync = new AtomicReference<>();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/xp-news/users/find-all-with-client");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+        String correlationId = response.getHeader(CorrelationIdFilter.HEADER);
+        assertNotNull(correlationId);
+        assertNull(MDC.get(CorrelationIdFilter.MDC_KEY));
+
+        // Despacho que escreve o resultado do CompletableFuture, em outra thread do container
+        request.setDispatcherType(DispatcherType.ASYNC);
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> duringAsync.set(MDC.get(CorrelationIdFilter.MDC_KEY)));
+
+        assertEquals(correlationId, duringAsync.get());
+    }
+}
@@ -0,0 +1,54 @@
+package br.edu.ifba.xpnewsbackend.mapper.user;
+
+import br.edu.ifba.xpnewsbackend.infrastructure.dto.ExportFormat;
+import br.edu.ifba.xpnewsbackend.user.mapper.UserExportWriter;
+import br.edu.ifba.xpnewsbackend.user.repository.UserSummary;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserExportWriterTests {
+
+    UserSummary first = new UserSummary(1L, "Rafael Andrade", "rafa@gmail.com", "rafa12", "ROLE_CLIENT");
+    UserSummary second = new UserSummary(2L, "Silva, \"Maria\"", "maria@gmail.com", "mariaS", "ROLE_ADMIN");
+
+    @Test
+    void ndjsonShouldWriteOneObjectPerLine() throws IOException {
+        String result = export(ExportFormat.NDJSON);
+
+        // Cada usuário ocupa uma linha, terminada por quebra de linha
+        assertEquals("{\"id\":1,\"fullName\":\"Rafael Andrade\",\"email\":\"rafa@gmail.com\",\"username\":\"rafa12\",\"role\":\"ROLE_CLIENT\"}\n"
+                + "{\"id\":2,\"fullName\":\"Silva, \\\"Maria\\\"\",\"email\":\"maria@gmail.com\",\"username\":\"mariaS\",\"role\":\"ROLE_ADMIN\"}\n", result);
+    }
+
+    @Test
+    void csvShouldWriteHeaderAndQuoteFieldsWithSeparators() throws IOException {
+        String result = export(ExportFormat.CSV);
+
+        // Campos com vírgula ou aspas são delimitados e as aspas internas duplicadas
+        assertEquals("id,fullName,email,username,role\n"
+                + "1,Rafael Andrade,rafa@gmail.com,rafa12,ROLE_CLIENT\n"
+                + "2,\"Silva, \"\"Maria\"\"\",maria@gmail.com,mariaS,ROLE_ADMIN\n", result);
+    }
+
+    @Test
+    void emptyExportShouldWriteOnlyCsvHeader() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new UserExportWriter(ExportFormat.CSV, out).close();
+
+        assertEquals("id,fullName,email,username,role\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    private String export(ExportFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (UserExportWriter writer = new UserExportWriter(format, out)) {
+            writer.accept(first);
+            writer.accept(second);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,98 @@
+package br.edu.ifba.xpnewsbackend.mapper.user;
+
+import br.edu.ifba.xpnewsbackend.infrastructure.dto.ExportFormat;
+import br.edu.ifba.xpnewsbackend.infrastructure.exception.InvalidImportFileException;
+import br.edu.ifba.xpnewsbackend.user.mapper.UserImportReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserImportReaderTests {
+
+    @Test
+    void ndjsonShouldReadOneUserPerLineAndReportMalformedLines() throws IOException {
+        String content = "{\"fullName\":\"Rafael Andrade\",\"username\":\"rafa12\",\"email\":\"rafa@gmail.com\",\"password\":\"senha\"}\n"
+                + "\n"
+                + "{\"fullName\": \n"
+                + "{\"fullName\":\"Maria Silva\",\"username\":\"mariaS\",\"email\":\"maria@gmail.com\",\"password\":\"senha\",\"extra\":1}\r\n";
+
+        List<UserImportReader.Row> rows = read(ExportFormat.NDJSON, content);
+
+        // Linhas em branco são ignoradas e a linha malformada não interrompe a leitura
+        assertEquals(3, rows.size());
+        assertEquals(1, rows.get(0).line());
+        assertEquals("rafa12", rows.get(0).user().getUsername());
+        assertEquals(3, rows.get(1).line());
+        assertNull(rows.get(1).user());
+        assertTrue(rows.get(1).error().startsWith("JSON inválido"));
+        assertEquals(4, rows.get(2).line());
+        assertEquals("Maria Silva", rows.get(2).user().getFullName());
+    }
+
+    @Test
+    void csvShouldMapColumnsByHeaderAndHandleQuotedFields() throws IOException {
+        String content = "username,email,password,fullName\r\n"
+                + "rafa12,rafa@gmail.com,senha,Rafael Andrade\r\n"
+                + "mariaS,maria@gmail.com,\"se,\"\"nha\",\"Silva,\nMaria\"\n"
+                + "carlos123,carlos@gmail.com\n";
+
+        List<UserImportReader.Row> rows = read(ExportFormat.CSV, content);
+
+        assertEquals(3, rows.size());
+        assertEquals(2, rows.get(0).line());
+        assertEquals("Rafael Andrade", rows.get(0).user().getFullName());
+        assertEquals("rafa12", rows.get(0).user().getUsername());
+        // Campo entre aspas pode conter vírgula, aspas duplicadas e quebra de linha
+        assertEquals("se,\"nha", rows.get(1).user().getPassword());
+        assertEquals("Silva,\nMaria", rows.get(1).user().getFullName());
+        // O registro seguinte começa depois da quebra de linha do campo entre aspas
+        assertEquals(5, rows.get(2).line());
+        assertNotNull(rows.get(2).error());
+    }
+
+    @Test
+    void oversizedRecordsShouldBeReportedAndReadingShouldContinue() throws IOException {
+        String huge = "x".repeat(70 * 1024);
+        String json = "{\"fullName\":\"Rafael Andrade\",\"username\":\"rafa12\",\"email\":\"rafa@gmail.com\",\"password\":\"senha\"}\n";
+
+        List<UserImportReader.Row> ndjson = read(ExportFormat.NDJSON, "{\"fullName\":\"" + huge + "\"}\n" + json);
+
+        assertEquals(2, ndjson.size());
+        assertEquals(1, ndjson.get(0).line());
+        assertTrue(ndjson.get(0).error().startsWith("Registro muito longo"));
+        assertEquals(2, ndjson.get(1).line());
+        assertEquals("rafa12", ndjson.get(1).user().getUsername());
+
+        // No CSV, uma aspa não fechada não consome o restante do arquivo: a leitura recomeça na linha seguinte
+        List<UserImportReader.Row> csv = read(ExportFormat.CSV, "fullName,username,email,password\n"
+                + "\"" + huge + ",rafa12,rafa@gmail.com,senha\n"
+                + "Maria Silva,mariaS,maria@gmail.com,senha\n");
+
+        assertEquals(2, csv.size());
+        assertEquals(2, csv.get(0).line());
+        assertTrue(csv.get(0).error().startsWith("Registro muito longo"));
+        assertEquals(3, csv.get(1).line());
+        assertEquals("mariaS", csv.get(1).user().getUsername());
+    }
+
+    @Test
+    void csvShouldRejectHeaderWithoutRequiredColumns() {
+        assertThrows(InvalidImportFileException.class, () -> read(ExportFormat.CSV, "username,email\nrafa12,rafa@gmail.com\n"));
+    }
+
+    private static List<UserImportReader.Row> read(ExportFormat format, String content) throws IOException {
+        List<UserImportReader.Row> rows = new ArrayList<>();
+        try (UserImportReader reader = new UserImportReader(format, new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)))) {
+            for (UserImportReader.Row row = reader.next(); row != null; row = reader.next()) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,87 @@
+package br.edu.ifba.xpnewsbackend.mapper.user;
+
+import br.edu.ifba.xpnewsbackend.tests.Factory;
+import br.edu.ifba.xpnewsbackend.user.dto.UserCreateDto;
+import br.edu.ifba.xpnewsbackend.user.dto.UserResponseDto;
+import br.edu.ifba.xpnewsbackend.user.dto.UserUpdateDto;
+import br.edu.ifba.xpnewsbackend.user.entity.User;
+import br.edu.ifba.xpnewsbackend.user.mapper.UserMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserMapperTests {
+
+    User validUser;
+    UserCreateDto createDto;
+
+    @BeforeEach
+    void setUp() {
+        // Configuração dos dados para os testes
+        validUser = Factory.createUser();
+        createDto = Factory.createUserCreateDto();
+    }
+
+    @Test
+    void toDtoShouldCopyFieldsAndRemoveRolePrefix() {
+        // Converte a entidade para o DTO de resposta
+        UserResponseDto dto = UserMapper.toDto(validUser);
+
+        // Verifica se os campos foram copiados e se o prefixo "ROLE_" foi removido
+        assertEquals(validUser.getId(), dto.getId());
+        assertEquals(validUser.getFullName(), dto.getFullName());
+        assertEquals(validUser.getEmail(), dto.getEmail());
+        assertEquals(validUser.getUsername(), dto.getUsername());
+        assertEquals("CLIENT", dto.getRole());
+    }
+
+    @Test
+    void toDtoShouldRemovePrefixFromAdminRole() {
+        validUser.setRole(User.Role.ROLE_ADMIN);
+
+        assertEquals("ADMIN", UserMapper.toDto(validUser).getRole());
+    }
+
+    @Test
+    void toUserShouldCopyFieldsAndKeepDefaultRole() {
+        // Converte o DTO de criação para a entidade
+        User user = UserMapper.toUser(createDto);
+
+        // O id não é informado na criação e o papel padrão deve ser mantido
+        assertNull(user.getId());
+        assertEquals(createDto.getFullName(), user.getFullName());
+        assertEquals(createDto.getUsername(), user.getUsername());
+        assertEquals(createDto.getEmail(), user.getEmail());
+        assertEquals(createDto.getPassword(), user.getPassword());
+        assertEquals(User.Role.ROLE_CLIENT, user.getRole());
+    }
+
+    @Test
+    void updateToUserShouldCopyFieldsWithoutPassword() {
+        UserUpdateDto updateDto = new UserUpdateDto("Rafael Andrade", "rafa12", "rafa@gmail.com", User.Role.ROLE_ADMIN);
+
+        User user = UserMapper.updateToUser(updateDto);
+
+        // A senha não faz parte da atualização e deve permanecer nula
+        assertNull(user.getId());
+        assertNull(user.getPassword());
+        assertEquals(updateDto.getFullName(), user.getFullName());
+        assertEquals(updateDto.getUsername(), user.getUsername());
+        assertEquals(updateDto.getEmail(), user.getEmail());
+        assertEquals(User.Role.ROLE_ADMIN, user.getRole());
+    }
+
+    @Test
+    void toListDtoShouldKeepOrder() {
+        User existingUser = Factory.createExistingUser();
+
+        List<UserResponseDto> result = UserMapper.toListDto(List.of(validUser, existingUser));
+
+        assertEquals(2, result.size());
+        assertEquals(validUser.getId(), result.get(0).getId());
+        assertEquals(existingUser.getId(), result.get(1).getId());
+    }
+}
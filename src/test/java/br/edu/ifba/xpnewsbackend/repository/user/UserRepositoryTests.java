@@ -4,16 +4,24 @@ import br.edu.ifba.xpnewsbackend.tests.Factory;
 import br.edu.ifba.xpnewsbackend.user.entity.User;
 import br.edu.ifba.xpnewsbackend.user.repository.UserProjection;
 import br.edu.ifba.xpnewsbackend.user.repository.UserRepository;
+import br.edu.ifba.xpnewsbackend.user.repository.UserSummary;
+import br.edu.ifba.xpnewsbackend.user.repository.UserVersion;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -73,7 +81,7 @@ public class UserRepositoryTests {
 
         // Verifica se ocorre uma exceção de violação de integridade de dados
         DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class, () -> {
-            repository.save(validUser);  // Tenta salvar o usuário com nome de usuário duplicado
+            repository.saveAndFlush(validUser);  // Tenta salvar o usuário com nome de usuário duplicado
         });
     }
 
@@ -86,7 +94,7 @@ public class UserRepositoryTests {
 
         // Verifica se ocorre uma exceção de violação de integridade de dados
         DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class, () -> {
-            repository.save(validUser);  // Tenta salvar o usuário com email duplicado
+            repository.saveAndFlush(validUser);  // Tenta salvar o usuário com email duplicado
         });
     }
 
@@ -111,6 +119,31 @@ public class UserRepositoryTests {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void findVersionByIdShouldReturnVersionWithoutLoadingUser() {
+        // Testa a consulta estreita usada nas leituras condicionais
+        validUser = repository.saveAndFlush(validUser);
+
+        Optional<UserVersion> result = repository.findVersionById(validUser.getId());
+
+        assertTrue(result.isPresent());
+        assertEquals(validUser.getId(), result.get().id());
+        assertEquals(0L, result.get().version());
+        assertNotNull(result.get().updatedAt());
+        assertTrue(repository.findVersionById(999L).isEmpty());
+    }
+
+    @Test
+    void versionShouldBeIncrementedOnUpdate() {
+        // Testa se a versão muda a cada atualização, invalidando a ETag anterior
+        validUser = repository.saveAndFlush(validUser);
+
+        validUser.setFullName("Rafael Novo");
+        validUser = repository.saveAndFlush(validUser);
+
+        assertEquals(1L, repository.findVersionByUsername(validUser.getUsername()).orElseThrow().version());
+    }
+
     @Test
     void findByEmailShouldReturnOptionalOfUserWhenEmailIsValid() {
         // Testa se o método de busca por email retorna um usuário válido quando o email existe
@@ -153,6 +186,18 @@ public class UserRepositoryTests {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void findExistingUsernamesAndEmailsShouldReturnOnlyPersistedValues() {
+        // Testa as consultas usadas na criação em lote para detectar conflitos antes de inserir
+        repository.save(validUser);
+
+        List<String> usernames = repository.findExistingUsernames(List.of(validUsername, invalidUsername));
+        List<String> emails = repository.findExistingEmails(List.of(validEmail, invalidEmail));
+
+        assertEquals(List.of(validUsername), usernames);
+        assertEquals(List.of(validEmail), emails);
+    }
+
     @Test
     void deleteShouldDeleteWhenUserExisting(){
         // Testa se o método de exclusão funciona corretamente para um usuário existente
@@ -166,6 +211,27 @@ public class UserRepositoryTests {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void deleteRowByIdShouldReturnAffectedRows(){
+        // Testa a exclusão direta: um único DELETE e a quantidade de linhas afetadas
+        validUser = repository.saveAndFlush(validUser);
+
+        assertEquals(1, repository.deleteRowById(validUser.getId()));
+        assertEquals(0, repository.deleteRowById(validUser.getId()));
+        assertTrue(repository.findById(validUser.getId()).isEmpty());
+    }
+
+    @Test
+    void deleteRowsByIdInShouldDeleteOnlyExistingIds(){
+        validUser = repository.saveAndFlush(validUser);
+        existingUser = repository.saveAndFlush(existingUser);
+
+        int deleted = repository.deleteRowsByIdIn(List.of(validUser.getId(), existingUser.getId(), 999L));
+
+        assertEquals(2, deleted);
+        assertEquals(0, repository.count());
+    }
+
     @Test
     void findAllShouldRetunrPageOfUser(){
         // Testa se o método de busca de todos os usuários retorna uma página de usuários corretamente
@@ -182,6 +248,144 @@ public class UserRepositoryTests {
         assertEquals(1, result.getTotalPages());  // Verifica o número total de páginas
     }
 
+    @Test
+    void findAllShouldReturnFlatProjectionsSortedByPageable(){
+        // Testa se a busca paginada retorna objetos UserSummary (sem proxies) respeitando a ordenação
+        repository.save(validUser);
+        repository.save(existingUser);
+
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("username"));
+        Page<UserProjection> result = repository.findAllPageable(pageable);
+
+        // Verifica o tipo concreto do conteúdo, a ordem e o papel no formato do banco
+        assertEquals(2, result.getTotalElements());
+        assertInstanceOf(UserSummary.class, result.getContent().get(0));
+        assertEquals(existingUser.getUsername(), result.getContent().get(0).getUsername());
+        assertEquals(validUser.getUsername(), result.getContent().get(1).getUsername());
+        assertEquals("ROLE_CLIENT", result.getContent().get(0).getRole());
+    }
+
+    @Test
+    void findAllSlicedShouldReportNextPageWithoutTotals(){
+        // Testa a busca em modo Slice: informa se há próxima página sem calcular o total
+        repository.save(existingUser);
+        repository.save(validUser);
+
+        Slice<UserProjection> firstPage = repository.findAllSliced(PageRequest.of(0, 1));
+        Slice<UserProjection> lastPage = repository.findAllSliced(PageRequest.of(1, 1));
+
+        assertEquals(1, firstPage.getNumberOfElements());
+        assertTrue(firstPage.hasNext());
+        assertFalse(lastPage.hasNext());
+        assertInstanceOf(UserSummary.class, lastPage.getContent().get(0));
+    }
+
+    @Test
+    void findAllAfterShouldSeekFromGivenIdInIdOrder(){
+        // Testa a busca por chave: somente ids maiores que o informado, em ordem crescente e limitados
+        User first = repository.save(validUser);
+        User second = repository.save(existingUser);
+
+        List<UserProjection> firstPage = repository.findAllAfter(0L, Limit.of(1));
+        List<UserProjection> secondPage = repository.findAllAfter(first.getId(), Limit.of(10));
+
+        // A primeira página traz apenas o primeiro usuário; a segunda continua a partir dele
+        assertEquals(1, firstPage.size());
+        assertEquals(first.getId(), firstPage.get(0).getId());
+        assertEquals(1, secondPage.size());
+        assertEquals(second.getId(), secondPage.get(0).getId());
+        assertTrue(repository.findAllAfter(second.getId(), Limit.of(10)).isEmpty());
+    }
+
+    @Test
+    void searchByTextShouldMatchAnyFieldIgnoringCase() {
+        // Testa a busca por trecho usada enquanto o índice em memória não está pronto
+        repository.save(validUser);
+        repository.save(existingUser);
+
+        Page<UserProjection> byName = repository.searchByText("%andrade%", PageRequest.of(0, 10));
+        Page<UserProjection> byEmail = repository.searchByText("%gmail%", PageRequest.of(0, 10));
+
+        assertEquals(1, byName.getTotalElements());
+        assertEquals(validUser.getUsername(), byName.getContent().get(0).getUsername());
+        assertEquals(2, byEmail.getTotalElements());
+    }
+
+    @Test
+    void findByUsernamePrefixShouldFilterByRoleAndLimit() {
+        // Testa a consulta por prefixo usada enquanto o índice de autocompletar não está pronto
+        existingUser.setUsername("rafaCarlos");
+        existingUser.setRole(User.Role.ROLE_ADMIN);
+        repository.save(validUser);
+        repository.save(existingUser);
+
+        List<UserProjection> all = repository.findByUsernamePrefix("rafa%", null, Limit.of(10));
+        List<UserProjection> admins = repository.findByUsernamePrefix("rafa%", User.Role.ROLE_ADMIN, Limit.of(10));
+
+        assertEquals(List.of("rafa12", "rafaCarlos"), all.stream().map(UserProjection::getUsername).toList());
+        assertEquals(1, admins.size());
+        assertEquals("rafaCarlos", admins.get(0).getUsername());
+        assertEquals(1, repository.findByUsernamePrefix("rafa%", null, Limit.of(1)).size());
+    }
+
+    @Test
+    void streamAllShouldReadEveryUserAsFlatProjection() {
+        // Testa o cursor usado na exportação; o teste já roda dentro de uma transação
+        repository.save(validUser);
+        repository.save(existingUser);
+
+        try (Stream<UserProjection> stream = repository.streamAll()) {
+            List<UserProjection> result = stream.toList();
+
+            assertEquals(2, result.size());
+            assertTrue(result.stream().allMatch(user -> user instanceof UserSummary));
+        }
+    }
+
+    @Test
+    void patchShouldUpdateOnlySuppliedColumnsAndBumpVersion() {
+        // Testa o UPDATE parcial: colunas com parâmetro nulo mantêm o valor atual
+        validUser = repository.saveAndFlush(validUser);
+
+        int updated = repository.patch(validUser.getId(), null, "Rafael Novo", null, null, null, Instant.now());
+
+        User result = repository.findById(validUser.getId()).orElseThrow();
+        assertEquals(1, updated);
+        assertEquals("Rafael Novo", result.getFullName());
+        assertEquals(validUsername, result.getUsername());
+        assertEquals(validEmail, result.getEmail());
+        assertEquals(User.Role.ROLE_CLIENT, result.getRole());
+        assertEquals(1L, result.getVersion());
+    }
+
+    @Test
+    void patchShouldOnlyUpdateWhenExpectedVersionMatches() {
+        // Testa o UPDATE condicional: com a versão esperada desatualizada nenhuma linha é alterada
+        validUser = repository.saveAndFlush(validUser);
+
+        assertEquals(1, repository.patch(validUser.getId(), 0L, "Rafael Novo", null, null, null, Instant.now()));
+        assertEquals(0, repository.patch(validUser.getId(), 0L, "Rafael Antigo", null, null, null, Instant.now()));
+
+        User result = repository.findById(validUser.getId()).orElseThrow();
+        assertEquals("Rafael Novo", result.getFullName());
+        assertEquals(1L, result.getVersion());
+    }
+
+    @Test
+    void patchShouldReturnZeroWhenUserDoesNotExist() {
+        assertEquals(0, repository.patch(999L, null, "Rafael Novo", null, null, null, Instant.now()));
+    }
+
+    @Test
+    void patchShouldThrowDataIntegrityViolationExceptionWhenUsernameIsExisting() {
+        repository.saveAndFlush(existingUser);
+        validUser = repository.saveAndFlush(validUser);
+
+        assertThrows(DataIntegrityViolationException.class, () -> {
+            repository.patch(validUser.getId(), null, null, existingUser.getUsername(), null, null, Instant.now());
+        });
+    }
+
     @Test
     void saveShouldUpdateWhenUserIsExisting(){
         // Testa se o método de salvar atualiza um usuário existente corretamente
@@ -0,0 +1,99 @@
+package br.edu.ifba.xpnewsbackend.service.user;
+
+import br.edu.ifba.xpnewsbackend.user.entity.User;
+import br.edu.ifba.xpnewsbackend.user.event.UserChangedEvent;
+import br.edu.ifba.xpnewsbackend.user.repository.UserRepository;
+import br.edu.ifba.xpnewsbackend.user.repository.UserSummary;
+import br.edu.ifba.xpnewsbackend.user.service.UserAvailabilityFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserAvailabilityFilterTests {
+
+    @Mock
+    UserRepository repository;  // Mock do repositório, fornece a contagem e os usuários lidos na construção do filtro
+
+    @Mock
+    PlatformTransactionManager transactionManager;  // Mock das transações somente-leitura usadas na construção
+
+    UserAvailabilityFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new UserAvailabilityFilter(repository, new TransactionTemplate(transactionManager), 0.01, Runnable::run);
+    }
+
+    @Test
+    void mightContainShouldBeTrueBeforeTheFirstBuild() {
+        assertTrue(filter.mightContainUsername("rafa12"));
+        assertTrue(filter.mightContainEmail("rafa@gmail.com"));
+    }
+
+    @Test
+    void rebuildShouldKeepUsersCommittedDuringTheBuild() {
+        User created = new User("Maria Silva", "mariaS", "maria@gmail.com", "senha", User.Role.ROLE_CLIENT);
+        created.setId(2L);
+        // O cadastro é confirmado depois da contagem e não aparece na leitura da tabela
+        when(repository.count()).thenAnswer(invocation -> {
+            filter.onUserChanged(UserChangedEvent.created(created));
+            return 1L;
+        });
+        when(repository.streamAll()).thenReturn(Stream.of(
+                new UserSummary(1L, "Rafael Andrade", "rafa@gmail.com", "rafa12", "ROLE_CLIENT")));
+
+        filter.rebuild();
+
+        assertTrue(filter.mightContainUsername("rafa12"));
+        assertTrue(filter.mightContainUsername("mariaS"));
+        assertTrue(filter.mightContainEmail("maria@gmail.com"));
+        assertFalse(filter.mightContainUsername("carlos123"));
+    }
+
+    @Test
+    void onUserChangedShouldAddUsersToTheCurrentFilter() {
+        when(repository.streamAll()).thenReturn(Stream.empty());
+        filter.rebuild();
+        User created = new User("Carlos Oliveira", "carlos123", "carlos@gmail.com", "senha", User.Role.ROLE_CLIENT);
+        created.setId(3L);
+
+        filter.onUserChanged(UserChangedEvent.created(created));
+
+        assertTrue(filter.mightContainUsername("carlos123"));
+        assertTrue(filter.mightContainEmail("carlos@gmail.com"));
+    }
+
+    @Test
+    void rebuildIfStaleShouldResizeTheFilterOnceItOutgrowsItsCapacity() {
+        when(repository.streamAll()).thenAnswer(invocation -> Stream.empty());
+        filter.rebuild();
+        // Tabela vazia: o filtro é dimensionado com a capacidade mínima (100 mil chaves, duas por usuário)
+        for (long id = 1; id <= 50_000; id++) {
+            filter.onUserChanged(UserChangedEvent.created(user(id)));
+        }
+        filter.rebuildIfStale();
+        verify(repository, times(1)).streamAll();
+
+        filter.onUserChanged(UserChangedEvent.created(user(50_001)));
+        when(repository.count()).thenReturn(50_001L);
+        filter.rebuildIfStale();
+
+        verify(repository, times(2)).streamAll();
+    }
+
+    private static User user(long id) {
+        User user = new User("Usuário " + id, "user" + id, "user" + id + "@gmail.com", "senha", User.Role.ROLE_CLIENT);
+        user.setId(id);
+        return user;
+    }
+}
@@ -0,0 +1,60 @@
+package br.edu.ifba.xpnewsbackend.service.user;
+
+import br.edu.ifba.xpnewsbackend.tests.Factory;
+import br.edu.ifba.xpnewsbackend.user.entity.User;
+import br.edu.ifba.xpnewsbackend.user.service.UserCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserCacheTests {
+
+    UserCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void cachedUserShouldNotBeChangedByCallers() {
+        User user = Factory.createUser();
+        cache.put(user, cache.stamp());
+
+        // Alterações em quem gravou ou em quem leu não chegam ao valor guardado
+        user.setFullName("Alterado na gravação");
+        User first = cache.getById(1L);
+        first.setFullName("Alterado na leitura");
+
+        User second = cache.getById(1L);
+        assertNotSame(first, second);
+        assertEquals("Rafael Andrade", second.getFullName());
+        assertEquals("Rafael Andrade", cache.getByUsername("rafa12").getFullName());
+        assertEquals("Rafael Andrade", cache.getByEmail("rafa@gmail.com").getFullName());
+    }
+
+    @Test
+    void putShouldBeIgnoredAfterAnEviction() {
+        long stamp = cache.stamp();
+        cache.evict(1L);  // Alteração confirmada enquanto a leitura estava em andamento
+
+        cache.put(Factory.createUser(), stamp);
+
+        assertNull(cache.getById(1L));
+        assertNull(cache.getByUsername("rafa12"));
+    }
+
+    @Test
+    void evictShouldRemoveTheUser() {
+        cache.put(Factory.createUser(), cache.stamp());
+
+        cache.evict(1L);
+
+        assertNull(cache.getById(1L));
+        assertNull(cache.getByEmail("rafa@gmail.com"));
+    }
+}
@@ -0,0 +1,79 @@
+package br.edu.ifba.xpnewsbackend.service.user;
+
+import br.edu.ifba.xpnewsbackend.user.repository.UserRepository;
+import br.edu.ifba.xpnewsbackend.user.service.UserCountCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserCountCacheTests {
+
+    @Mock
+    UserRepository repository;  // Mock do repositório, fornece o total inicial
+
+    UserCountCache countCache;
+
+    @BeforeEach
+    void setUp() {
+        countCache = new UserCountCache(repository);
+        when(repository.count()).thenReturn(10L);
+        countCache.get();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void incrementShouldApplyImmediatelyWithoutTransaction() {
+        countCache.increment(-1);
+
+        assertEquals(9L, countCache.get());
+    }
+
+    @Test
+    void incrementShouldWaitForTheCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        countCache.increment(-1);
+        assertEquals(10L, countCache.get());
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(9L, countCache.get());
+    }
+
+    @Test
+    void incrementShouldBeDiscardedOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Exclusão desfeita no commit, por exemplo por uma violação de integridade adiada
+        countCache.increment(-1);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(10L, countCache.get());
+    }
+
+    // Simula o fim da transação como o gerenciador de transações faria
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
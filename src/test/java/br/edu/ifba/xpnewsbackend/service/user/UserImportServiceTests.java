@@ -0,0 +1,107 @@
+package br.edu.ifba.xpnewsbackend.service.user;
+
+import br.edu.ifba.xpnewsbackend.infrastructure.dto.ExportFormat;
+import br.edu.ifba.xpnewsbackend.user.dto.UserBatchItemDto;
+import br.edu.ifba.xpnewsbackend.user.dto.UserImportReportDto;
+import br.edu.ifba.xpnewsbackend.user.entity.User;
+import br.edu.ifba.xpnewsbackend.user.service.UserIService;
+import br.edu.ifba.xpnewsbackend.user.service.UserImportService;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserImportServiceTests {
+
+    @Mock
+    UserIService userService;  // Mock da criação em lote usada para gravar cada bloco
+
+    ValidatorFactory validatorFactory;
+    UserImportService service;
+
+    @BeforeEach
+    void setUp() {
+        // Validador real, para aplicar as mesmas regras de UserCreateDto
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        service = new UserImportService(userService, validatorFactory.getValidator());
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void importUsersShouldCreateValidRowsAndReportInvalidOnesByLine() throws IOException {
+        // Simula a criação em lote: o segundo usuário válido entra em conflito
+        when(userService.createAll(anyList())).thenReturn(List.of(
+                new UserBatchItemDto(0, UserBatchItemDto.Status.CREATED, null, null),
+                new UserBatchItemDto(1, UserBatchItemDto.Status.CONFLICT, null, "conflito")));
+        String content = "fullName,username,email,password\n"
+                + "Rafael Andrade,rafa12,rafa@gmail.com,senha\n"
+                + "Sem Email,semEmail,,senha\n"
+                + "Maria Silva,mariaS,maria@gmail.com,senha\n";
+
+        UserImportReportDto report = service.importUsers(ExportFormat.CSV, stream(content));
+
+        assertEquals(3, report.getProcessed());
+        assertEquals(1, report.getCreated());
+        assertEquals(2, report.getFailed());
+        assertEquals(3, report.getErrors().get(0).getLine());
+        assertEquals(UserBatchItemDto.Status.INVALID, report.getErrors().get(0).getStatus());
+        assertEquals(4, report.getErrors().get(1).getLine());
+        assertEquals(UserBatchItemDto.Status.CONFLICT, report.getErrors().get(1).getStatus());
+        verify(userService, times(1)).createAll(anyList());
+    }
+
+    @Test
+    void importUsersShouldWriteInFixedSizeChunksAndCapReportedErrors() throws IOException {
+        // Cada bloco recebido é criado por inteiro; guarda os tamanhos para verificar a divisão
+        List<Integer> chunkSizes = new ArrayList<>();
+        when(userService.createAll(anyList())).thenAnswer(invocation -> {
+            List<User> users = invocation.getArgument(0);
+            chunkSizes.add(users.size());
+            List<UserBatchItemDto> results = new ArrayList<>();
+            for (int i = 0; i < users.size(); i++) {
+                results.add(new UserBatchItemDto(i, UserBatchItemDto.Status.CREATED, null, null));
+            }
+            return results;
+        });
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 2500; i++) {
+            content.append("{\"fullName\":\"Usuário ").append(i).append("\",\"username\":\"user").append(i)
+                    .append("\",\"email\":\"user").append(i).append("@gmail.com\",\"password\":\"senha\"}\n");
+        }
+        for (int i = 0; i < 150; i++) {
+            content.append("{}\n");
+        }
+
+        UserImportReportDto report = service.importUsers(ExportFormat.NDJSON, stream(content.toString()));
+
+        assertEquals(List.of(1000, 1000, 500), chunkSizes);
+        assertEquals(2650, report.getProcessed());
+        assertEquals(2500, report.getCreated());
+        assertEquals(150, report.getFailed());
+        assertEquals(100, report.getErrors().size());
+        assertTrue(report.isErrorsTruncated());
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,171 @@
+package br.edu.ifba.xpnewsbackend.service.user;
+
+import br.edu.ifba.xpnewsbackend.infrastructure.exception.ResourceNotFoundException;
+import br.edu.ifba.xpnewsbackend.tests.Factory;
+import br.edu.ifba.xpnewsbackend.user.entity.User;
+import br.edu.ifba.xpnewsbackend.user.service.UserLookupCoalescer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserLookupCoalescerTests {
+
+    private static final int THREADS = 64;
+
+    SimpleMeterRegistry registry;
+    UserLookupCoalescer coalescer;
+    ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        coalescer = new UserLookupCoalescer(registry);
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentLookupsForTheSameKeyShouldShareOneQuery() throws Exception {
+        User user = Factory.createUser();
+        AtomicInteger queries = new AtomicInteger();
+
+        // A consulta só termina quando todas as outras threads já estão aguardando por ela
+        List<Future<User>> results = burst(() -> coalescer.load(UserLookupCoalescer.Lookup.USERNAME, "rafa12", 0L, () -> {
+            queries.incrementAndGet();
+            awaitCoalesced(THREADS - 1);
+            return user;
+        }));
+
+        // Todas recebem o mesmo usuário, mas cada uma em sua própria instância
+        Set<User> users = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Future<User> result : results) {
+            User received = result.get(5, TimeUnit.SECONDS);
+            assertEquals(user.getId(), received.getId());
+            assertEquals(user.getUsername(), received.getUsername());
+            users.add(received);
+        }
+        assertEquals(THREADS, users.size());
+        assertEquals(1, queries.get());
+        assertEquals(1.0, count("username", "query"));
+        assertEquals(THREADS - 1.0, count("username", "coalesced"));
+    }
+
+    @Test
+    void concurrentLookupsShouldAllReceiveTheSameError() throws Exception {
+        AtomicInteger queries = new AtomicInteger();
+
+        List<Future<User>> results = burst(() -> coalescer.load(UserLookupCoalescer.Lookup.ID, 2L, 0L, () -> {
+            queries.incrementAndGet();
+            awaitCoalesced(THREADS - 1);
+            throw new ResourceNotFoundException("Nenhum usuário foi encontrado com o id: 2");
+        }));
+
+        for (Future<User> result : results) {
+            ExecutionException ex = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(ResourceNotFoundException.class, ex.getCause());
+        }
+        assertEquals(1, queries.get());
+    }
+
+    @Test
+    void lookupShouldNotJoinAQueryStartedBeforeAChange() throws Exception {
+        User stale = Factory.createUser();
+        User fresh = Factory.createExistingUser();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Consulta em andamento com o marcador 0; uma alteração leva o marcador a 1
+        Future<User> first = executor.submit(() -> coalescer.load(UserLookupCoalescer.Lookup.ID, 1L, 0L, () -> {
+            started.countDown();
+            await(release);
+            return stale;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        User second = coalescer.load(UserLookupCoalescer.Lookup.ID, 1L, 1L, () -> fresh);
+        release.countDown();
+
+        assertSame(fresh, second);
+        assertSame(stale, first.get(5, TimeUnit.SECONDS));
+        assertEquals(0.0, count("id", "coalesced"));
+    }
+
+    @Test
+    void keyShouldBeReleasedAfterTheQuery() {
+        User user = Factory.createUser();
+        AtomicInteger queries = new AtomicInteger();
+
+        // Buscas sequenciais não se sobrepõem: cada uma faz a sua consulta
+        coalescer.load(UserLookupCoalescer.Lookup.EMAIL, "rafa@gmail.com", 0L, () -> { queries.incrementAndGet(); return user; });
+        coalescer.load(UserLookupCoalescer.Lookup.EMAIL, "rafa@gmail.com", 0L, () -> { queries.incrementAndGet(); return user; });
+
+        assertEquals(2, queries.get());
+        assertEquals(0.0, registry.get("users.lookups.in-flight").gauge().value());
+    }
+
+    private List<Future<User>> burst(Callable<User> lookup) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<User>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return lookup.call();
+            }));
+        }
+        start.countDown();
+        return results;
+    }
+
+    private void awaitCoalesced(int expected) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalescedTotal() < expected && System.nanoTime() < deadline) {
+            sleep();
+        }
+    }
+
+    private double coalescedTotal() {
+        return registry.get("users.lookups").tag("outcome", "coalesced").counters().stream()
+                .mapToDouble(counter -> counter.count()).sum();
+    }
+
+    private double count(String type, String outcome) {
+        return registry.get("users.lookups").tags("type", type, "outcome", outcome).counter().count();
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
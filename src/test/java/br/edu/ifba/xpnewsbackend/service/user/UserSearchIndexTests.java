@@ -0,0 +1,86 @@
+package br.edu.ifba.xpnewsbackend.service.user;
+
+import br.edu.ifba.xpnewsbackend.user.entity.User;
+import br.edu.ifba.xpnewsbackend.user.event.UserChangedEvent;
+import br.edu.ifba.xpnewsbackend.user.repository.UserProjection;
+import br.edu.ifba.xpnewsbackend.user.repository.UserRepository;
+import br.edu.ifba.xpnewsbackend.user.repository.UserSummary;
+import br.edu.ifba.xpnewsbackend.user.service.UserSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserSearchIndexTests {
+
+    @Mock
+    UserRepository repository;  // Mock do repositório, fornece os usuários lidos na construção do índice
+
+    @Mock
+    PlatformTransactionManager transactionManager;  // Mock das transações somente-leitura usadas na construção
+
+    UserSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UserSearchIndex(repository, new TransactionTemplate(transactionManager), Runnable::run);
+        when(repository.streamAll()).thenReturn(Stream.of(
+                summary(1L, "Rafael Andrade", "rafa12", "rafa@gmail.com"),
+                summary(2L, "Maria Silva", "mariaS", "maria@gmail.com"),
+                summary(3L, "José Conceição", "jose", "jose@empresa.com.br"),
+                summary(4L, "Rafaela Souza", "rafaelaS", "rafaela@gmail.com")));
+        index.rebuild();
+    }
+
+    @Test
+    void searchShouldRankBestMatchesFirst() {
+        Page<UserProjection> result = index.search("rafael", PageRequest.of(0, 10));
+
+        // "Rafael Andrade" contém a palavra inteira e é mais curto que "Rafaela Souza"
+        assertEquals(2, result.getTotalElements());
+        assertEquals(1L, result.getContent().get(0).getId());
+        assertEquals(4L, result.getContent().get(1).getId());
+    }
+
+    @Test
+    void searchShouldIgnoreAccentsAndCaseAndTolerateTypos() {
+        assertEquals(3L, index.search("CONCEICAO", PageRequest.of(0, 10)).getContent().get(0).getId());
+        assertEquals(2L, index.search("maria slva", PageRequest.of(0, 10)).getContent().get(0).getId());
+    }
+
+    @Test
+    void searchShouldPaginateAndKeepTotal() {
+        Page<UserProjection> result = index.search("gmail", PageRequest.of(1, 2));
+
+        assertEquals(3, result.getTotalElements());
+        assertEquals(1, result.getContent().size());
+    }
+
+    @Test
+    void onUserChangedShouldUpdateAndRemoveUsers() {
+        User renamed = new User("Mariana Costa", "mariS", "maria@gmail.com", "senha", User.Role.ROLE_CLIENT);
+        renamed.setId(2L);
+
+        index.onUserChanged(UserChangedEvent.updated(renamed));
+        index.onUserChanged(UserChangedEvent.deleted(1L));
+
+        assertEquals(0, index.search("silva", PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(2L, index.search("costa", PageRequest.of(0, 10)).getContent().get(0).getId());
+        assertEquals(1, index.search("rafael", PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    private static UserSummary summary(Long id, String fullName, String username, String email) {
+        return new UserSummary(id, fullName, email, username, "ROLE_CLIENT");
+    }
+}
@@ -0,0 +1,184 @@
+package br.edu.ifba.xpnewsbackend.service.user;
+
+import br.edu.ifba.xpnewsbackend.infrastructure.exception.PreconditionFailedException;
+import br.edu.ifba.xpnewsbackend.user.entity.User;
+import br.edu.ifba.xpnewsbackend.user.repository.UserRepository;
+import br.edu.ifba.xpnewsbackend.user.service.UserCache;
+import br.edu.ifba.xpnewsbackend.user.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes de estresse do serviço de usuários.
+ * No controle de concorrência otimista, várias threads incrementam o mesmo contador (guardado no nome do usuário)
+ * com leitura, atualização condicionada à versão lida e nova tentativa em conflito.
+ * Se alguma atualização sobrescrevesse outra, o valor final ficaria abaixo do total de incrementos.
+ * No agrupamento de buscas, uma rajada de leituras do mesmo usuário fora do cache deve chegar ao banco uma única vez.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:concurrency;DB_CLOSE_DELAY=-1"
+})
+public class UserServiceConcurrencyTests {
+
+    private static final int THREADS = 16;
+    private static final int INCREMENTS_PER_THREAD = 10;
+
+    @Autowired
+    UserService service;
+
+    @MockitoSpyBean
+    UserRepository repository;
+
+    @Autowired
+    UserCache cache;
+
+    @Autowired
+    MeterRegistry registry;
+
+    Long userId;
+    volatile double coalescedBefore;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        userId = repository.saveAndFlush(new User("0", "contador", "contador@gmail.com", "senha", User.Role.ROLE_CLIENT)).getId();
+    }
+
+    @Test
+    void concurrentConditionalUpdatesShouldNotLoseUpdates() throws Exception {
+        run(THREADS, INCREMENTS_PER_THREAD);
+
+        int expected = THREADS * INCREMENTS_PER_THREAD;
+        User result = repository.findById(userId).orElseThrow();
+        assertEquals(expected, counter());  // Nenhuma atualização perdida
+        assertEquals(expected, result.getVersion());  // Uma versão por atualização gravada
+    }
+
+    @Test
+    void burstOfIdenticalLookupsShouldReachTheDatabaseOncePerKey() throws Exception {
+        User user = repository.findById(userId).orElseThrow();
+        double queriesAtStart = lookups("query");
+        double coalescedAtStart = lookups("coalesced");
+        // Cada consulta ao banco só termina quando as demais threads da rajada já estão aguardando por ela
+        doAnswer(invocation -> awaitCoalesced(invocation)).when(repository).findById(userId);
+        doAnswer(invocation -> awaitCoalesced(invocation)).when(repository).findByUsername(anyString());
+        doAnswer(invocation -> awaitCoalesced(invocation)).when(repository).findByEmail(anyString());
+        clearInvocations(repository);
+
+        burst(service::findById, userId);
+        burst(service::findByUsername, user.getUsername());
+        burst(service::findByEmail, user.getEmail());
+
+        verify(repository, times(1)).findById(userId);
+        verify(repository, times(1)).findByUsername(user.getUsername());
+        verify(repository, times(1)).findByEmail(user.getEmail());
+        double queries = lookups("query") - queriesAtStart;
+        double coalesced = lookups("coalesced") - coalescedAtStart;
+        assertEquals(3, queries);
+        assertEquals(3 * (THREADS - 1), coalesced);
+    }
+
+    private <T> void burst(Function<T, User> lookup, T key) throws Exception {
+        cache.evict(userId);  // A rajada começa com o cache vazio, como após uma alteração do usuário
+        coalescedBefore = lookups("coalesced");
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<User>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return lookup.apply(key);
+                }));
+            }
+            start.countDown();
+            for (Future<User> future : futures) {
+                assertEquals(userId, future.get(10, TimeUnit.SECONDS).getId());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Object awaitCoalesced(InvocationOnMock invocation) throws Throwable {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (lookups("coalesced") - coalescedBefore < THREADS - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        // O repositório é um proxy do Spring Data: a resposta padrão do espião delega ao proxy original
+        return mockingDetails(repository).getMockCreationSettings().getDefaultAnswer().answer(invocation);
+    }
+
+    private double lookups(String outcome) {
+        return registry.get("users.lookups").tag("outcome", outcome).counters().stream()
+                .mapToDouble(counter -> counter.count()).sum();
+    }
+
+    private void run(int threads, int incrementsPerThread) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                boolean patch = t % 2 == 1;  // Metade das threads usa o PATCH, metade o PUT
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < incrementsPerThread; i++) {
+                        increment(patch);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void increment(boolean patch) {
+        while (true) {
+            User current = service.findById(userId);
+            String next = String.valueOf(Long.parseLong(current.getFullName()) + 1);
+            try {
+                if (patch) {
+                    User changes = new User();
+                    changes.setFullName(next);
+                    changes.setRole(null);
+                    service.patchUser(userId, current.getVersion(), changes);
+                } else {
+                    service.updateUser(userId, current.getVersion(),
+                            new User(next, current.getUsername(), current.getEmail(), null, current.getRole()));
+                }
+                return;
+            } catch (PreconditionFailedException | OptimisticLockingFailureException e) {
+                // Conflito com outra thread: relê o usuário e tenta de novo
+            }
+        }
+    }
+
+    private long counter() {
+        return Long.parseLong(repository.findById(userId).orElseThrow().getFullName());
+    }
+}
@@ -2,25 +2,52 @@ package br.edu.ifba.xpnewsbackend.service.user;
 
 import br.edu.ifba.xpnewsbackend.infrastructure.exception.DatabaseException;
 import br.edu.ifba.xpnewsbackend.infrastructure.exception.PasswordInvalidException;
+import br.edu.ifba.xpnewsbackend.infrastructure.exception.PreconditionFailedException;
+import br.edu.ifba.xpnewsbackend.infrastructure.security.PasswordHasher;
 import br.edu.ifba.xpnewsbackend.infrastructure.exception.ResourceNotFoundException;
 import br.edu.ifba.xpnewsbackend.infrastructure.exception.UniqueViolationException;
 import br.edu.ifba.xpnewsbackend.tests.Factory;
+import br.edu.ifba.xpnewsbackend.user.dto.UserBatchItemDto;
 import br.edu.ifba.xpnewsbackend.user.entity.User;
 import br.edu.ifba.xpnewsbackend.user.repository.UserProjection;
 import br.edu.ifba.xpnewsbackend.user.repository.UserRepository;
+import br.edu.ifba.xpnewsbackend.user.repository.UserSummary;
+import br.edu.ifba.xpnewsbackend.user.repository.UserVersion;
+import br.edu.ifba.xpnewsbackend.user.event.UserChangedEvent;
+import br.edu.ifba.xpnewsbackend.user.service.UserAvailabilityFilter;
+import br.edu.ifba.xpnewsbackend.user.service.UserCache;
+import br.edu.ifba.xpnewsbackend.user.service.UserCountCache;
+import br.edu.ifba.xpnewsbackend.user.service.UserLookupCoalescer;
+import br.edu.ifba.xpnewsbackend.user.service.UserSearchIndex;
 import br.edu.ifba.xpnewsbackend.user.service.UserService;
+import br.edu.ifba.xpnewsbackend.user.service.UsernameAutocomplete;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -31,6 +58,33 @@ public class UserServiceTests {
     @Mock
     UserRepository repository;  // Mock do repositório, simula o comportamento da camada de dados
 
+    @Mock
+    UserCountCache countCache;  // Mock do total de usuários mantido em memória
+
+    @Mock
+    TransactionTemplate transactionTemplate;  // Mock das transações programáticas usadas na criação em lote
+
+    @Mock
+    UserCache cache;  // Mock do cache de usuários; por padrão não encontra nada e a busca vai ao repositório
+
+    @Mock
+    UserAvailabilityFilter availabilityFilter;  // Mock do filtro de disponibilidade; por padrão indica valores livres
+
+    @Mock
+    UserSearchIndex searchIndex;  // Mock do índice de busca; por padrão ainda não está pronto e a busca vai ao banco
+
+    @Mock
+    UsernameAutocomplete usernameAutocomplete;  // Mock do autocompletar; por padrão ainda não está pronto e a consulta vai ao banco
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;  // Mock da publicação de eventos de alteração de usuário
+
+    @Mock
+    PasswordHasher passwordHasher;  // Mock do hash de senhas; por padrão nenhuma senha confere
+
+    @Spy
+    UserLookupCoalescer lookups = new UserLookupCoalescer(new SimpleMeterRegistry());  // Agrupador real: sem buscas simultâneas, apenas executa a consulta
+
     @InjectMocks
     UserService service;  // A instância do serviço, onde as dependências são injetadas automaticamente
 
@@ -57,8 +111,10 @@ public class UserServiceTests {
     @Test
     void createShouldReturnUserObjectWhenSaveUser() {
         // Testa o método de criação de usuário.
-        // Simula o comportamento do repositório, retornando o usuário válido quando o método save é chamado.
-        when(repository.save(validUser)).thenReturn(validUser);
+        // Simula o comportamento do repositório, retornando o usuário válido quando o método saveAndFlush é chamado.
+        String rawPassword = validUser.getPassword();
+        when(passwordHasher.hash(rawPassword)).thenReturn("$2a$10$hash");
+        when(repository.saveAndFlush(validUser)).thenReturn(validUser);
 
         // Chama o serviço para salvar o usuário.
         User savedUser = service.create(validUser);
@@ -66,38 +122,125 @@ public class UserServiceTests {
         // Verifica se o usuário foi salvo corretamente.
         assertNotNull(savedUser);  // O usuário não pode ser nulo
         assertEquals(validUser.getUsername(), savedUser.getUsername());  // O nome de usuário deve ser igual
+        assertEquals("$2a$10$hash", savedUser.getPassword());  // Apenas o hash da senha é gravado
+        verify(countCache, times(1)).increment(1);  // O total em cache acompanha a criação
     }
 
     @Test
     void createShouldThrowUniqueViolationExceptionWhenSavePersonWithExistingEmail() {
         // Testa o comportamento quando tenta salvar um usuário com email já existente.
         // Simula uma exceção de violação de integridade de dados no repositório.
-        when(repository.save(validUser)).thenThrow(DataIntegrityViolationException.class);
+        when(repository.saveAndFlush(validUser)).thenThrow(DataIntegrityViolationException.class);
 
         // Espera que uma exceção UniqueViolationException seja lançada.
         UniqueViolationException exception = assertThrows(UniqueViolationException.class, () -> {
             service.create(validUser);
         });
 
-        // Verifica se a mensagem da exceção é a esperada e se o método save foi chamado uma vez.
+        // Verifica se a mensagem da exceção é a esperada e se o método saveAndFlush foi chamado uma vez.
         assertEquals("Já tem um usuário registrado com esse username ou email", exception.getMessage());
-        verify(repository, times(1)).save(validUser);  // Verifica se o método save foi chamado uma vez
+        verify(repository, times(1)).saveAndFlush(validUser);  // Verifica se o método saveAndFlush foi chamado uma vez
     }
 
     @Test
     void createShouldThrowUniqueViolationExceptionWhenSavePersonWithExistingUsername() {
         // Testa o comportamento quando tenta salvar um usuário com username já existente.
         // Simula uma exceção de violação de integridade de dados no repositório.
-        when(repository.save(validUser)).thenThrow(DataIntegrityViolationException.class);
+        when(repository.saveAndFlush(validUser)).thenThrow(DataIntegrityViolationException.class);
 
         // Espera que uma exceção UniqueViolationException seja lançada.
         UniqueViolationException exception = assertThrows(UniqueViolationException.class, () -> {
             service.create(validUser);
         });
 
-        // Verifica se a mensagem da exceção é a esperada e se o método save foi chamado uma vez.
+        // Verifica se a mensagem da exceção é a esperada e se o método saveAndFlush foi chamado uma vez.
         assertEquals("Já tem um usuário registrado com esse username ou email", exception.getMessage());
-        verify(repository, times(1)).save(validUser);  // Verifica se o método save foi chamado uma vez
+        verify(repository, times(1)).saveAndFlush(validUser);  // Verifica se o método saveAndFlush foi chamado uma vez
+    }
+
+    @Test
+    void createShouldNotQueryExistenceWhenFilterSaysValuesAreFree() {
+        // Testa o caminho rápido: o filtro garante que username e email estão livres, então o banco não é consultado antes do insert.
+        when(repository.saveAndFlush(validUser)).thenReturn(validUser);
+
+        service.create(validUser);
+
+        verify(repository, never()).existsByUsername(anyString());
+        verify(repository, never()).existsByEmail(anyString());
+        verify(eventPublisher, times(1)).publishEvent(any(UserChangedEvent.class));  // Notifica a criação
+    }
+
+    @Test
+    void createShouldThrowUniqueViolationExceptionWithoutInsertWhenFilterHitIsConfirmed() {
+        // Testa o caso em que o filtro indica um possível conflito e o banco confirma que o username já existe.
+        when(availabilityFilter.mightContainUsername(validUser.getUsername())).thenReturn(true);
+        when(repository.existsByUsername(validUser.getUsername())).thenReturn(true);
+
+        UniqueViolationException exception = assertThrows(UniqueViolationException.class, () -> {
+            service.create(validUser);
+        });
+
+        assertEquals("Já tem um usuário registrado com esse username ou email", exception.getMessage());
+        verify(repository, never()).saveAndFlush(any(User.class));  // Nenhum insert é tentado
+        verify(passwordHasher, never()).hash(anyString());  // Nenhum hash é calculado para um conflito conhecido
+    }
+
+    @Test
+    void isEmailAvailableShouldConfirmFilterHitInRepository() {
+        // Testa a verificação de disponibilidade: um possível acerto do filtro (falso positivo) é confirmado no banco.
+        when(availabilityFilter.mightContainEmail(validEmail)).thenReturn(true);
+        when(repository.existsByEmail(validEmail)).thenReturn(false);
+
+        assertTrue(service.isEmailAvailable(validEmail));
+        assertTrue(service.isEmailAvailable(invalidEmail));  // Filtro negativo: livre sem consultar o banco
+        verify(repository, times(1)).existsByEmail(anyString());
+    }
+
+    @Test
+    void createAllShouldInsertInBatchAndReportConflictsPerItem() {
+        // Testa a criação em lote: um username já existe no banco e um email se repete dentro do próprio lote.
+        User existingUsername = Factory.createExistingUser();
+        User duplicatedEmail = new User("Outro Nome", "outro", validUser.getEmail(), "senha", User.Role.ROLE_CLIENT);
+        List<User> users = List.of(validUser, existingUsername, duplicatedEmail);
+        when(repository.findExistingUsernames(anyCollection())).thenReturn(List.of(existingUsername.getUsername()));
+        when(repository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);  // Executa o callback como se estivesse na transação
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(passwordHasher.hashAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<UserBatchItemDto> result = service.createAll(users);
+
+        // Apenas o primeiro usuário é gravado; os demais são reportados como conflito, na ordem recebida
+        assertEquals(3, result.size());
+        assertEquals(UserBatchItemDto.Status.CREATED, result.get(0).getStatus());
+        assertEquals(UserBatchItemDto.Status.CONFLICT, result.get(1).getStatus());
+        assertEquals(UserBatchItemDto.Status.CONFLICT, result.get(2).getStatus());
+        verify(repository, times(1)).saveAllAndFlush(List.of(validUser));  // Um único lote com o item válido
+        verify(countCache, times(1)).increment(1);
+    }
+
+    @Test
+    void createAllShouldIsolateConflictWhenBatchInsertFails() {
+        // Testa o caso em que o lote falha no banco (conflito criado por outra requisição): os itens são regravados um a um.
+        User otherUser = Factory.createExistingUser();
+        when(repository.findExistingUsernames(anyCollection())).thenReturn(List.of());
+        when(repository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(passwordHasher.hashAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(repository.saveAllAndFlush(anyList())).thenThrow(DataIntegrityViolationException.class);
+        when(repository.saveAndFlush(validUser)).thenReturn(validUser);
+        when(repository.saveAndFlush(otherUser)).thenThrow(DataIntegrityViolationException.class);
+
+        List<UserBatchItemDto> result = service.createAll(List.of(validUser, otherUser));
+
+        assertEquals(UserBatchItemDto.Status.CREATED, result.get(0).getStatus());
+        assertEquals(UserBatchItemDto.Status.CONFLICT, result.get(1).getStatus());
+        verify(countCache, times(1)).increment(1);
     }
 
     @Test
@@ -119,6 +262,132 @@ public class UserServiceTests {
         assertEquals(1, result.getTotalPages());  // Verifica o número total de páginas
     }
 
+    @Test
+    void findAllSliceShouldNotCount() {
+        // Testa a listagem em modo Slice: nenhuma contagem deve ser executada.
+        Pageable pageable = PageRequest.of(0, 2);
+        Slice<UserProjection> expected = new SliceImpl<>(Factory.createUserProjectionPage(pageable).getContent(), pageable, true);
+        when(repository.findAllSliced(pageable)).thenReturn(expected);
+
+        Slice<UserProjection> result = service.findAllSlice(pageable);
+
+        assertEquals(expected, result);
+        assertTrue(result.hasNext());
+        verify(repository, never()).findAllPageable(any());  // A consulta com contagem não é usada
+        verify(repository, never()).count();
+    }
+
+    @Test
+    void findAllWithCachedCountShouldUseCachedTotal() {
+        // Testa a listagem com total em cache: o total vem do cache e não de um count(*).
+        Pageable pageable = PageRequest.of(0, 2);
+        when(repository.findAllSliced(pageable))
+                .thenReturn(new SliceImpl<>(Factory.createUserProjectionPage(pageable).getContent(), pageable, true));
+        when(countCache.get()).thenReturn(40L);
+
+        Page<UserProjection> result = service.findAllWithCachedCount(pageable);
+
+        assertEquals(40, result.getTotalElements());  // Total informado pelo cache
+        assertEquals(20, result.getTotalPages());
+        verify(repository, never()).count();
+    }
+
+    @Test
+    void findAllWithCachedCountShouldNotContradictSliceWhenCacheIsStale() {
+        // Testa o caso em que o cache está defasado (menor que o já lido) e ainda existe próxima página.
+        Pageable pageable = PageRequest.of(1, 2);
+        when(repository.findAllSliced(pageable))
+                .thenReturn(new SliceImpl<>(Factory.createUserProjectionPage(pageable).getContent(), pageable, true));
+        when(countCache.get()).thenReturn(1L);
+
+        Page<UserProjection> result = service.findAllWithCachedCount(pageable);
+
+        // O total deve ser suficiente para que a página não seja marcada como a última
+        assertTrue(result.hasNext());
+        assertEquals(5, result.getTotalElements());
+    }
+
+    @Test
+    void findAllAfterShouldDelegateToKeysetQueryWithLimit() {
+        // Testa a busca por cursor: o serviço repassa o último id e o limite ao repositório.
+        List<UserProjection> expected = Factory.createUserProjectionPage(PageRequest.of(0, 10)).getContent();
+        when(repository.findAllAfter(0L, Limit.of(3))).thenReturn(expected);
+
+        List<UserProjection> result = service.findAllAfter(0L, 3);
+
+        assertEquals(expected, result);
+        verify(repository, times(1)).findAllAfter(0L, Limit.of(3));  // Verifica se o método foi chamado uma vez
+        verify(repository, never()).count();  // A paginação por cursor não executa contagem
+    }
+
+    @Test
+    void searchShouldUseIndexWhenReady() {
+        // Testa a busca pelo índice em memória, sem consulta ao banco.
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<UserProjection> page = Factory.createUserProjectionPage(pageable);
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.search("rafa", pageable)).thenReturn(page);
+
+        assertEquals(page, service.search("rafa", pageable));
+        verify(repository, never()).searchByText(anyString(), any());
+    }
+
+    @Test
+    void searchShouldFallBackToEscapedLikeQueryWhenIndexIsNotReady() {
+        // Enquanto o índice não está pronto, a busca usa LIKE com os curingas do texto escapados.
+        Pageable pageable = PageRequest.of(0, 10);
+
+        service.search(" Ra_fa% ", pageable);
+
+        verify(repository, times(1)).searchByText("%ra\\_fa\\%%", pageable);
+    }
+
+    @Test
+    void searchShouldReturnEmptyPageForQueriesShorterThanTwoCharacters() {
+        // Mesma resposta com ou sem o índice pronto: nem o índice nem o LIKE são consultados
+        Pageable pageable = PageRequest.of(0, 10);
+
+        assertTrue(service.search("  ", pageable).isEmpty());
+        assertTrue(service.search(" r ", pageable).isEmpty());
+
+        verify(searchIndex, never()).search(anyString(), any());
+        verify(repository, never()).searchByText(anyString(), any());
+    }
+
+    @Test
+    void autocompleteShouldStripMentionPrefixAndUseIndexWhenReady() {
+        List<UserProjection> suggestions = Factory.createUserProjectionPage(PageRequest.of(0, 10)).getContent();
+        when(usernameAutocomplete.isReady()).thenReturn(true);
+        when(usernameAutocomplete.suggest("ra", User.Role.ROLE_CLIENT, 5)).thenReturn(suggestions);
+
+        assertEquals(suggestions, service.autocomplete("@ra", User.Role.ROLE_CLIENT, 5));
+        verify(repository, never()).findByUsernamePrefix(anyString(), any(), any());
+    }
+
+    @Test
+    void autocompleteShouldFallBackToPrefixQueryWhenIndexIsNotReady() {
+        service.autocomplete("Ra_", null, 5);
+
+        verify(repository, times(1)).findByUsernamePrefix("ra\\_%", null, Limit.of(5));
+        assertTrue(service.autocomplete("@", null, 5).isEmpty());
+    }
+
+    @Test
+    void exportAllShouldPassEveryStreamedUserToActionAndCloseStream() {
+        // Testa a exportação em fluxo: cada usuário lido é entregue à ação e o cursor é fechado ao final.
+        UserProjection first = new UserSummary(1L, "Rafael Andrade", "rafa@gmail.com", "rafa12", "ROLE_CLIENT");
+        UserProjection second = new UserSummary(2L, "Maria Silva", "maria@gmail.com", "mariaS", "ROLE_CLIENT");
+        AtomicBoolean closed = new AtomicBoolean();
+        when(repository.streamAll()).thenReturn(Stream.of(first, second).onClose(() -> closed.set(true)));
+        List<UserProjection> received = new ArrayList<>();
+
+        long count = service.exportAll(received::add);
+
+        assertEquals(2, count);
+        assertEquals(List.of(first, second), received);
+        assertTrue(closed.get());
+    }
+
     @Test
     void findByIdShouldReturnObjectUserWhenValidId() {
         // Testa a busca de um usuário pelo ID válido.
@@ -151,6 +420,185 @@ public class UserServiceTests {
         verify(repository, times(1)).findById(invalidId);  // Verifica se o método foi chamado uma vez
     }
 
+    @Test
+    void findAllByIdsShouldQueryDistinctIdsAndIndexById() {
+        // Testa a busca de vários usuários: ids repetidos são consultados uma única vez.
+        User existingUser = Factory.createExistingUser();
+        when(repository.findAllById(List.of(validId, invalidId, 3L))).thenReturn(List.of(validUser, existingUser));
+
+        Map<Long, User> result = service.findAllByIds(List.of(validId, invalidId, validId, 3L));
+
+        // Apenas os usuários existentes aparecem no resultado, indexados pelo id
+        assertEquals(2, result.size());
+        assertEquals(validUser, result.get(validId));
+        assertEquals(existingUser, result.get(invalidId));
+        assertNull(result.get(3L));
+        verify(repository, times(1)).findAllById(anyIterable());  // Uma única consulta IN para poucos ids
+    }
+
+    @Test
+    void findByIdShouldReturnCachedUserWithoutQueryingRepository() {
+        // Testa a leitura pelo cache: quando o usuário está em cache o banco não é consultado.
+        when(cache.getById(validId)).thenReturn(validUser);
+
+        User result = service.findById(validId);
+
+        assertEquals(validUser, result);
+        verify(repository, never()).findById(anyLong());
+    }
+
+    @Test
+    void findByIdShouldPopulateCacheOnMiss() {
+        // Testa o preenchimento do cache após uma leitura no banco, com o marcador obtido antes da consulta.
+        when(cache.stamp()).thenReturn(7L);
+        when(repository.findById(validId)).thenReturn(Optional.of(validUser));
+
+        service.findById(validId);
+
+        verify(cache, times(1)).put(validUser, 7L);
+    }
+
+    @Test
+    void findVersionByIdShouldUseCachedUserWithoutQueryingRepository() {
+        // Testa a leitura condicional: com o usuário em cache a versão é obtida sem consultar o banco.
+        validUser.setVersion(3L);
+        when(cache.getById(validId)).thenReturn(validUser);
+
+        UserVersion result = service.findVersionById(validId);
+
+        assertEquals(3L, result.version());
+        verify(repository, never()).findVersionById(anyLong());
+    }
+
+    @Test
+    void findVersionByIdShouldQueryOnlyVersionOnCacheMiss() {
+        // Testa se, fora do cache, apenas a consulta estreita é executada.
+        UserVersion version = new UserVersion(validId, 2L, null);
+        when(repository.findVersionById(validId)).thenReturn(Optional.of(version));
+
+        assertEquals(version, service.findVersionById(validId));
+        verify(repository, never()).findById(anyLong());
+    }
+
+    @Test
+    void findVersionByUsernameShouldThrowResourceNotFoundExceptionWhenDoesNotExist() {
+        when(repository.findVersionByUsername(invalidUsername)).thenReturn(Optional.empty());
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
+            service.findVersionByUsername(invalidUsername);
+        });
+
+        assertEquals("Nenhum usuário foi encontrado com o username: " + invalidUsername, exception.getMessage());
+    }
+
+    @Test
+    void findByUsernameShouldReturnCachedUserWithoutQueryingRepository() {
+        // Testa a leitura pelo índice de username do cache.
+        when(cache.getByUsername(validUsername)).thenReturn(validUser);
+
+        User result = service.findByUsername(validUsername);
+
+        assertEquals(validUser, result);
+        verify(repository, never()).findByUsername(anyString());
+    }
+
+    @Test
+    void updateUserShouldLoadFromRepositoryAndEvictCache() {
+        // Testa a atualização: a entidade é lida do banco (nunca do cache) e o cache é invalidado para o id.
+        User newData = new User("Rafael Novo", "rafaNovo", "novo@gmail.com", null, User.Role.ROLE_ADMIN);
+        when(repository.findById(validId)).thenReturn(Optional.of(validUser));
+
+        service.updateUser(validId, null, newData);
+
+        assertEquals("rafaNovo", validUser.getUsername());
+        verify(cache, never()).getById(anyLong());
+        verify(cache, times(1)).evict(validId);
+    }
+
+    @Test
+    void updateUserShouldThrowPreconditionFailedExceptionWhenVersionDiffers() {
+        // Testa a atualização condicional: o cliente conhece a versão 2, mas o usuário já está na versão 3.
+        User newData = new User("Rafael Novo", "rafaNovo", "novo@gmail.com", null, User.Role.ROLE_ADMIN);
+        validUser.setVersion(3L);
+        when(repository.findById(validId)).thenReturn(Optional.of(validUser));
+
+        assertThrows(PreconditionFailedException.class, () -> service.updateUser(validId, 2L, newData));
+
+        assertEquals("rafa12", validUser.getUsername());  // Nenhum campo foi alterado
+        verify(repository, never()).save(any());
+        verify(cache, never()).evict(anyLong());
+    }
+
+    @Test
+    void updateUserShouldUpdateWhenVersionMatches() {
+        User newData = new User("Rafael Novo", "rafaNovo", "novo@gmail.com", null, User.Role.ROLE_ADMIN);
+        validUser.setVersion(3L);
+        when(repository.findById(validId)).thenReturn(Optional.of(validUser));
+
+        service.updateUser(validId, 3L, newData);
+
+        assertEquals("rafaNovo", validUser.getUsername());
+        verify(repository, times(1)).save(validUser);
+    }
+
+    @Test
+    void patchUserShouldThrowPreconditionFailedExceptionWhenVersionDiffers() {
+        // Testa a atualização parcial condicional: o UPDATE não altera nenhuma linha, mas o usuário existe.
+        User changes = new User();
+        changes.setFullName("Rafael Novo");
+        changes.setRole(null);
+        when(repository.patch(eq(validId), eq(2L), eq("Rafael Novo"), isNull(), isNull(), isNull(), any())).thenReturn(0);
+        when(repository.existsById(validId)).thenReturn(true);
+
+        assertThrows(PreconditionFailedException.class, () -> service.patchUser(validId, 2L, changes));
+
+        verify(cache, never()).evict(anyLong());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void patchUserShouldIssueSingleUpdateWithOnlySuppliedFields() {
+        // Testa a atualização parcial: nenhum carregamento da entidade, apenas o UPDATE com os campos enviados.
+        User changes = new User();
+        changes.setFullName("Rafael Novo");
+        changes.setRole(null);
+        UserSummary updated = new UserSummary(validId, "Rafael Novo", validEmail, validUsername, "ROLE_CLIENT");
+        when(repository.patch(eq(validId), isNull(), eq("Rafael Novo"), isNull(), isNull(), isNull(), any())).thenReturn(1);
+        when(repository.findSummaryById(validId)).thenReturn(Optional.of(updated));
+
+        service.patchUser(validId, null, changes);
+
+        verify(repository, never()).findById(anyLong());
+        verify(repository, never()).save(any());
+        verify(cache, times(1)).evict(validId);
+        verify(eventPublisher, times(1)).publishEvent(UserChangedEvent.updated(updated));
+    }
+
+    @Test
+    void patchUserShouldThrowResourceNotFoundExceptionWhenNoRowIsUpdated() {
+        User changes = new User();
+        changes.setUsername("rafaNovo");
+        when(repository.patch(eq(invalidId), isNull(), isNull(), eq("rafaNovo"), isNull(), any(), any())).thenReturn(0);
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
+            service.patchUser(invalidId, null, changes);
+        });
+
+        assertEquals("Nenhum usuário foi encontrado com o id: " + invalidId, exception.getMessage());
+        verify(cache, never()).evict(anyLong());
+    }
+
+    @Test
+    void patchUserShouldThrowUniqueViolationExceptionWhenUsernameIsTaken() {
+        User changes = new User();
+        changes.setUsername("carlos123");
+        when(repository.patch(eq(validId), isNull(), isNull(), eq("carlos123"), isNull(), any(), any()))
+                .thenThrow(new DataIntegrityViolationException("unique"));
+
+        assertThrows(UniqueViolationException.class, () -> service.patchUser(validId, null, changes));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
     @Test
     void findByUsernameShouldReturnObjectUserWhenValidUsername() {
         // Testa a busca de um usuário pelo nome de usuário válido.
@@ -222,16 +670,20 @@ public class UserServiceTests {
         String currentPassword = "senhaSegura123";
         String newPassword = "novaSenha123";
         String confirmationPassword = "novaSenha123";
+        String newHash = "$2a$10$novoHash";
         when(repository.findById(validUser.getId())).thenReturn(Optional.of(validUser));
+        when(passwordHasher.matches(currentPassword, validUser.getPassword())).thenReturn(true);
+        when(passwordHasher.hash(newPassword)).thenReturn(newHash);
 
         // Chama o método para atualizar a senha.
-        service.updatePassword(validId, currentPassword, newPassword, confirmationPassword);
+        service.updatePassword(validId, null, currentPassword, newPassword, confirmationPassword);
 
         // Verifica se a senha foi atualizada corretamente.
         assertNotEquals(currentPassword, validUser.getPassword());  // A senha atual não pode ser igual à antiga
-        assertEquals(newPassword, validUser.getPassword());  // A nova senha deve ser igual
+        assertEquals(newHash, validUser.getPassword());  // A nova senha é gravada como hash
         verify(repository, times(1)).findById(validId);  // Verifica se o método findById foi chamado uma vez
         verify(repository, times(1)).save(validUser);  // Verifica se o método save foi chamado uma vez
+        verify(cache, times(1)).evict(validId);  // Verifica se o usuário foi removido do cache
     }
 
     @Test
@@ -242,7 +694,7 @@ public class UserServiceTests {
 
         // Espera que uma exceção ResourceNotFoundException seja lançada.
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
-            service.updatePassword(invalidId, "", "", "");
+            service.updatePassword(invalidId, null, "", "", "");
         });
 
         // Verifica se a mensagem da exceção é a esperada e se o método foi chamado uma vez.
@@ -260,7 +712,7 @@ public class UserServiceTests {
 
         // Espera que uma exceção PasswordInvalidException seja lançada.
         PasswordInvalidException exception = assertThrows(PasswordInvalidException.class, () -> {
-            service.updatePassword(validId, currentPassword, newPassword, confirmationPassword);
+            service.updatePassword(validId, null, currentPassword, newPassword, confirmationPassword);
         });
 
         // Verifica se a mensagem da exceção é a esperada.
@@ -281,20 +733,21 @@ public class UserServiceTests {
 
         // Espera que uma exceção PasswordInvalidException seja lançada.
         PasswordInvalidException exception = assertThrows(PasswordInvalidException.class, () -> {
-            service.updatePassword(validId, currentPassword, newPassword, confirmationPassword);
+            service.updatePassword(validId, null, currentPassword, newPassword, confirmationPassword);
         });
 
         // Verifica se a mensagem da exceção é a esperada.
         assertEquals(expectedMessage, exception.getMessage());
         verify(repository, times(1)).findById(validId);  // Verifica se o método findById foi chamado uma vez
+        verify(passwordHasher, never()).hash(anyString());  // Nenhum hash é calculado para a nova senha
     }
 
     @Test
     void deleteShouldThrowResourceNotFoundExceptionWhenIdDoesNotExist(){
         // Given / Arrange: Prepara os dados necessários para o teste.
-        // Neste caso, configuramos o repositório para retornar Optional.empty() quando um ID inválido é passado.
+        // Neste caso, configuramos o repositório para indicar que nenhuma linha foi excluída para o ID inválido.
         String expectedMessage = "Nenhum usuário foi encontrado com o id: " + invalidId;
-        when(repository.findById(invalidId)).thenReturn(Optional.empty());
+        when(repository.deleteRowById(invalidId)).thenReturn(0);
 
         // When / Act: Chama o método de serviço para deletar o usuário com ID inválido.
         // Espera-se que uma exceção ResourceNotFoundException seja lançada.
@@ -303,45 +756,114 @@ public class UserServiceTests {
         });
 
         // Then / Assert: Verifica se a exceção foi lançada e se a mensagem da exceção é a esperada.
-        // Também verifica se o método findById foi chamado uma vez e se o método delete não foi chamado.
+        // Também verifica se o usuário não foi carregado antes da exclusão e se nenhum evento foi publicado.
         assertEquals(expectedMessage, exception.getMessage());
-        verify(repository, times(1)).findById(invalidId);  // Verifica se o método findById foi chamado uma vez.
-        verify(repository, times(0)).delete(any(User.class));  // Verifica se o método delete não foi chamado.
+        verify(repository, never()).findById(anyLong());  // A exclusão não carrega a entidade.
+        verify(eventPublisher, never()).publishEvent(any());  // Nenhum evento de exclusão foi publicado.
     }
 
     @Test
     void deleteShouldDeleteWhenIdExists(){
-        // Given / Arrange: Prepara o teste configurando o repositório para retornar um usuário válido.
-        // Também configuramos o repositório para não realizar nenhuma ação quando o método delete for chamado.
-        when(repository.findById(validId)).thenReturn(Optional.of(validUser));
-        doNothing().when(repository).delete(validUser);
+        // Given / Arrange: Prepara o teste configurando o repositório para indicar que uma linha foi excluída.
+        when(repository.deleteRowById(validId)).thenReturn(1);
 
         // When / Act: Chama o método de serviço para deletar o usuário com ID válido.
         service.delete(validId);
 
-        // Then / Assert: Verifica se o método delete foi chamado uma vez para deletar o usuário.
-        verify(repository, times(1)).delete(validUser);  // Verifica se o método delete foi chamado uma vez.
+        // Then / Assert: Verifica se o DELETE direto foi executado uma vez, sem carregar o usuário.
+        verify(repository, times(1)).deleteRowById(validId);  // Verifica se o DELETE foi executado uma vez.
+        verify(repository, never()).findById(anyLong());  // A exclusão não carrega a entidade.
+        verify(cache, times(1)).evict(validId);  // Verifica se o usuário foi removido do cache.
+        verify(countCache, times(1)).increment(-1);  // Verifica se o total em memória foi atualizado.
     }
 
     @Test
     void deleteShouldThrowDatabaseExceptionWhenRepositoryThrowsDataIntegrityViolationException(){
         // Given / Arrange: Prepara o teste simulando que o repositório lança uma DataIntegrityViolationException ao tentar deletar.
-        // Também configura o repositório para retornar um usuário válido ao procurar pelo ID.
         String expectedMessage = "Violação de integridade";
-        when(repository.findById(validId)).thenReturn(Optional.of(validUser));
 
         // When / Act: Chama o método de serviço para deletar o usuário e simula uma exceção de violação de integridade de dados.
-        doThrow(new DataIntegrityViolationException("Erro de integridade")).when(repository).delete(validUser);
+        when(repository.deleteRowById(validId)).thenThrow(new DataIntegrityViolationException("Erro de integridade"));
 
         // Then / Assert: Verifica se uma DatabaseException é lançada quando ocorre uma violação de integridade de dados.
-        // Verifica também se a mensagem da exceção é a esperada e se o método delete foi chamado uma vez.
+        // Verifica também se a mensagem da exceção é a esperada e se o DELETE foi executado uma vez.
         DatabaseException exception = assertThrows(DatabaseException.class, () -> {
             service.delete(validId);
         });
 
         assertEquals(expectedMessage, exception.getMessage());  // Verifica se a mensagem da exceção é a esperada.
-        verify(repository, times(1)).delete(validUser);  // Verifica se o método delete foi chamado uma vez.
-        verify(repository, times(1)).findById(validId);  // Verifica se o método findById foi chamado uma vez.
+        verify(repository, times(1)).deleteRowById(validId);  // Verifica se o DELETE foi executado uma vez.
+        verify(cache, never()).evict(anyLong());  // O cache não é alterado quando a exclusão falha.
+    }
+
+    @Test
+    void deleteAllShouldDeleteDistinctIdsInChunksAndReturnAffectedRows(){
+        // Simula as transações programáticas executando o callback diretamente
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 1200; id++) {
+            ids.add(id);
+        }
+        ids.add(1L);  // Id repetido é considerado uma única vez
+        // Os ids acima de 1150 não existem
+        when(repository.findExistingIds(anyCollection())).thenAnswer(invocation ->
+                invocation.<Collection<Long>>getArgument(0).stream().filter(id -> id <= 1150).toList());
+        when(repository.deleteRowsByIdIn(anyCollection())).thenReturn(500, 500, 150);
+
+        int deleted = service.deleteAll(ids);
+
+        // 1200 ids distintos em blocos de 500: três comandos DELETE, sem carregar nenhum usuário
+        assertEquals(1150, deleted);
+        verify(repository, times(3)).deleteRowsByIdIn(anyCollection());
+        verify(repository, never()).findAllById(any());
+        verify(countCache, times(2)).increment(-500);
+        verify(countCache, times(1)).increment(-150);
+        // Cache e eventos apenas para os usuários realmente excluídos
+        verify(cache, times(1150)).evict(anyLong());
+        verify(eventPublisher, times(1150)).publishEvent(any(UserChangedEvent.class));
+    }
+
+    @Test
+    void deleteAllShouldSkipChunksWithoutExistingUsers(){
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(repository.findExistingIds(anyCollection())).thenReturn(List.of());
+
+        int deleted = service.deleteAll(List.of(invalidId));
+
+        assertEquals(0, deleted);
+        verify(repository, never()).deleteRowsByIdIn(anyCollection());
+        verify(countCache, never()).increment(anyLong());
+        verify(cache, never()).evict(anyLong());
+        verify(eventPublisher, never()).publishEvent(any(UserChangedEvent.class));
+    }
+
+    @Test
+    void deleteAllShouldKeepCountOfCommittedChunksWhenLaterChunkFails(){
+        // O primeiro bloco é confirmado; o segundo viola a integridade
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null))
+                .thenThrow(new DataIntegrityViolationException("Erro de integridade"));
+        when(repository.findExistingIds(anyCollection())).thenAnswer(invocation -> List.copyOf(invocation.<Collection<Long>>getArgument(0)));
+        when(repository.deleteRowsByIdIn(anyCollection())).thenReturn(500);
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 600; id++) {
+            ids.add(id);
+        }
+
+        assertThrows(DatabaseException.class, () -> service.deleteAll(ids));
+
+        verify(countCache, times(1)).increment(-500);
+    }
+
+    @Test
+    void deleteAllShouldThrowDatabaseExceptionWhenChunkViolatesIntegrity(){
+        when(transactionTemplate.execute(any())).thenThrow(new DataIntegrityViolationException("Erro de integridade"));
+
+        DatabaseException exception = assertThrows(DatabaseException.class, () -> service.deleteAll(List.of(validId)));
+
+        assertEquals("Violação de integridade", exception.getMessage());
     }
 
 }
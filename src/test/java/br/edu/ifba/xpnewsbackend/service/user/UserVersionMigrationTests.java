@@ -0,0 +1,87 @@
+package br.edu.ifba.xpnewsbackend.service.user;
+
+import br.edu.ifba.xpnewsbackend.user.entity.User;
+import br.edu.ifba.xpnewsbackend.user.repository.UserRepository;
+import br.edu.ifba.xpnewsbackend.user.service.UserService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bancos criados pelo Hibernate antes das migrações têm apenas o esquema base: ids por IDENTITY,
+ * sem sequência e sem as colunas de versão. O teste monta esse esquema sem o Flyway, grava um usuário
+ * e então migra como a aplicação faria (baseline na versão 1); depois disso as escritas pela entidade
+ * devem funcionar normalmente.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:legacy-version;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=false",
+        // O esquema só fica completo depois da migração feita pelo próprio teste
+        "spring.jpa.hibernate.ddl-auto=none"
+})
+public class UserVersionMigrationTests {
+
+    @Autowired
+    UserService service;
+
+    @Autowired
+    UserRepository repository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Test
+    void legacyDatabaseShouldBeMigratedFromBaselineSchema() {
+        jdbcTemplate.execute("create table tb_user (" +
+                "id bigint generated by default as identity, " +
+                "full_name varchar(50) not null, " +
+                "username varchar(30) not null, " +
+                "email varchar(255) not null, " +
+                "password varchar(255) not null, " +
+                "role varchar(50) not null check (role in ('ROLE_ADMIN', 'ROLE_CLIENT')), " +
+                "primary key (id), " +
+                "constraint uk_tb_user_username unique (username), " +
+                "constraint uk_tb_user_email unique (email))");
+        jdbcTemplate.update("insert into tb_user (id, full_name, username, email, password, role) " +
+                "values (1, 'Rafael Andrade', 'rafa12', 'rafa@gmail.com', 'senha', 'ROLE_CLIENT')");
+
+        // Mesma configuração de baseline do application.yml
+        Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+
+        assertEquals(0L, jdbcTemplate.queryForObject("select version from tb_user where id = 1", Long.class));
+        assertEquals(0L, service.findVersionById(1L).version());
+
+        // Versão 0 é a mesma anunciada na ETag, então também serve como versão esperada
+        service.updatePassword(1L, 0L, "senha", "novaSenha", "novaSenha");
+        service.updateUser(1L, 1L, new User("Rafael Andrade Souza", "rafa12", "rafa@gmail.com", null, User.Role.ROLE_ADMIN));
+
+        User result = repository.findById(1L).orElseThrow();
+        assertEquals(2L, result.getVersion());
+        assertNotNull(result.getUpdatedAt());
+        assertEquals("Rafael Andrade Souza", result.getFullName());
+        assertEquals(User.Role.ROLE_ADMIN, result.getRole());
+
+        // A sequência criada na migração começa depois dos ids já existentes
+        User created = repository.saveAndFlush(new User("Ana Souza", "ana", "ana@gmail.com", "senha", User.Role.ROLE_CLIENT));
+        assertTrue(created.getId() > 1L);
+
+        // Novas linhas sem versão explícita recebem o valor padrão da coluna
+        jdbcTemplate.update("insert into tb_user (id, full_name, username, email, password, role) " +
+                "values (1000, 'Carlos Oliveira', 'carlos123', 'carlos@gmail.com', 'senha', 'ROLE_CLIENT')");
+        assertEquals(0L, jdbcTemplate.queryForObject("select version from tb_user where id = 1000", Long.class));
+    }
+}
@@ -0,0 +1,96 @@
+package br.edu.ifba.xpnewsbackend.service.user;
+
+import br.edu.ifba.xpnewsbackend.user.entity.User;
+import br.edu.ifba.xpnewsbackend.user.event.UserChangedEvent;
+import br.edu.ifba.xpnewsbackend.user.repository.UserProjection;
+import br.edu.ifba.xpnewsbackend.user.repository.UserRepository;
+import br.edu.ifba.xpnewsbackend.user.repository.UserSummary;
+import br.edu.ifba.xpnewsbackend.user.service.UsernameAutocomplete;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UsernameAutocompleteTests {
+
+    @Mock
+    UserRepository repository;  // Mock do repositório, fornece os usuários lidos na construção do índice
+
+    @Mock
+    PlatformTransactionManager transactionManager;  // Mock das transações somente-leitura usadas na construção
+
+    UsernameAutocomplete autocomplete;
+
+    @BeforeEach
+    void setUp() {
+        autocomplete = new UsernameAutocomplete(repository, new TransactionTemplate(transactionManager), Runnable::run);
+        when(repository.streamAll()).thenReturn(Stream.of(
+                summary(1L, "rafa12", "ROLE_CLIENT"),
+                summary(2L, "Rafaela", "ROLE_ADMIN"),
+                summary(3L, "mariaS", "ROLE_CLIENT"),
+                summary(4L, "raul", "ROLE_CLIENT")));
+        autocomplete.rebuild();
+    }
+
+    @Test
+    void suggestShouldReturnUsernamesWithPrefixInOrderIgnoringCase() {
+        List<UserProjection> result = autocomplete.suggest("RA", null, 10);
+
+        // Usuários dos dois papéis, intercalados em ordem alfabética
+        assertEquals(List.of("rafa12", "Rafaela", "raul"), usernames(result));
+        assertEquals(List.of("rafa12", "Rafaela"), usernames(autocomplete.suggest("raf", null, 2)));
+    }
+
+    @Test
+    void suggestShouldFilterByRole() {
+        assertEquals(List.of("Rafaela"), usernames(autocomplete.suggest("ra", User.Role.ROLE_ADMIN, 10)));
+        assertEquals(List.of("rafa12", "raul"), usernames(autocomplete.suggest("ra", User.Role.ROLE_CLIENT, 10)));
+    }
+
+    @Test
+    void onUserChangedShouldHandleRenamesRoleChangesAndDeletes() {
+        User renamed = new User("Maria Silva", "ramaria", "maria@gmail.com", "senha", User.Role.ROLE_ADMIN);
+        renamed.setId(3L);
+
+        autocomplete.onUserChanged(UserChangedEvent.updated(renamed));
+        autocomplete.onUserChanged(UserChangedEvent.deleted(4L));
+
+        assertTrue(autocomplete.suggest("mar", null, 10).isEmpty());
+        assertEquals(List.of("rafa12", "Rafaela", "ramaria"), usernames(autocomplete.suggest("ra", null, 10)));
+        assertEquals(List.of("Rafaela", "ramaria"), usernames(autocomplete.suggest("ra", User.Role.ROLE_ADMIN, 10)));
+    }
+
+    @Test
+    void suggestShouldStayConsistentAfterManyWrites() {
+        // Escritas suficientes para mesclar o delta à base ordenada mais de uma vez
+        for (long id = 100; id < 5100; id++) {
+            User user = new User("Usuário " + id, "user" + id, "user" + id + "@gmail.com", "senha", User.Role.ROLE_CLIENT);
+            user.setId(id);
+            autocomplete.onUserChanged(UserChangedEvent.created(user));
+        }
+        for (long id = 100; id < 5100; id += 2) {
+            autocomplete.onUserChanged(UserChangedEvent.deleted(id));
+        }
+
+        assertEquals(List.of("user1001", "user1003", "user1005"), usernames(autocomplete.suggest("user10", null, 3)));
+        assertEquals(List.of("rafa12", "Rafaela", "raul"), usernames(autocomplete.suggest("ra", null, 10)));
+    }
+
+    private static List<String> usernames(List<UserProjection> users) {
+        return users.stream().map(UserProjection::getUsername).toList();
+    }
+
+    private static UserSummary summary(Long id, String username, String role) {
+        return new UserSummary(id, "Usuário " + id, username + "@gmail.com", username, role);
+    }
+}